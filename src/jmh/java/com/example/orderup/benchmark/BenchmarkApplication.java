@@ -0,0 +1,62 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.OrderupApplication;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server against its own in-memory H2
+ * database. Per-order logging is silenced so console I/O does not dominate.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(OrderupApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.orderup=WARN",
+                        "orderup.rate-limit.enabled=false")
+                .properties(properties)
+                .run();
+    }
+
+    static List<Long> seedProducts(ProductRepository productRepository, int count, int stock) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder().name("Bench Product " + i).stock(stock).build());
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+
+    static void seedOrders(OrderRepository orderRepository, ProductRepository productRepository,
+                           List<Long> productIds, int count) {
+        List<Order> batch = new ArrayList<>(1000);
+        for (int i = 0; i < count; i++) {
+            batch.add(Order.builder()
+                    .customerName("Customer " + i)
+                    .quantity(1 + i % 5)
+                    .product(productRepository.getReferenceById(productIds.get(i % productIds.size())))
+                    .build());
+            if (batch.size() == 1000) {
+                orderRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        orderRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code placeOrder} throughput on one hot product under the bucketed
+ * strategy; write throughput should grow with the bucket count until the
+ * connection pool or CPU becomes the limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BucketScalingBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int buckets;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private Long productId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(
+                "orderup.order.strategy=bucketed",
+                "orderup.stock-buckets.default-count=" + buckets);
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        productId = BenchmarkApplication.seedProducts(context.getBean(ProductRepository.class), 1, 1_000_000_000).get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOrders() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OrderResponse placeOrder8Threads() {
+        return placeOrder();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public OrderResponse placeOrder64Threads() {
+        return placeOrder();
+    }
+
+    private OrderResponse placeOrder() {
+        return orderService.placeOrder(new OrderRequest(productId, "Bench Customer", 1));
+    }
+}
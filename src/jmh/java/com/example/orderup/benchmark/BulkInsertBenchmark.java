@@ -0,0 +1,81 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders inserted per second by {@code saveAll} of 1000 orders in one
+ * transaction, the shape of the batch and async ingest paths. A numeric
+ * {@code ids} is the allocation size, how many IDs one sequence call reserves;
+ * inserts are then sent in JDBC batches of {@code hibernate.jdbc.batch_size}.
+ * {@code identity} saves {@link IdentityOrder} instead, whose keys come back
+ * from each insert, so Hibernate cannot batch them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ORDERS = 1000;
+
+    private static final String IDENTITY = "identity";
+
+    @Param({IDENTITY, "1", "50", "500"})
+    public String ids;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private IdentityOrderRepository identityOrderRepository;
+    private Product product;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = IDENTITY.equals(ids)
+                ? BenchmarkApplication.start()
+                : BenchmarkApplication.start("spring.jpa.properties.orderup.id.allocation-size=" + ids);
+        orderRepository = context.getBean(OrderRepository.class);
+        identityOrderRepository = context.getBean(IdentityOrderRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        Long productId = BenchmarkApplication.seedProducts(productRepository, 1, 1_000_000).get(0);
+        product = productRepository.getReferenceById(productId);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOrders() {
+        orderRepository.deleteAllInBatch();
+        identityOrderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public List<?> insertOrders() {
+        if (IDENTITY.equals(ids)) {
+            List<IdentityOrder> orders = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                orders.add(IdentityOrder.builder().customerName("Customer " + i).quantity(1).product(product).build());
+            }
+            return identityOrderRepository.saveAll(orders);
+        }
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(Order.builder().customerName("Customer " + i).quantity(1).product(product).build());
+        }
+        return orderRepository.saveAll(orders);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning rows into {@link OrderResponse}s, from the JPQL projection
+ * used by the list endpoints and from the entity graph it replaced, and of
+ * serializing the result. No database involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<OrderView> views;
+    private List<Order> entities;
+    private List<OrderResponse> responses;
+
+    @Setup
+    public void setUp() {
+        views = new ArrayList<>(size);
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = Product.builder().id((long) i % 50).name("Product " + i % 50).stock(100).build();
+            views.add(new OrderView((long) i, product.getId(), product.getName(), 1 + i % 5));
+            entities.add(Order.builder().id((long) i).customerName("Customer " + i).quantity(1 + i % 5).product(product).build());
+        }
+        responses = fromViews();
+    }
+
+    @Benchmark
+    public List<OrderResponse> fromViews() {
+        return views.stream()
+                .map(view -> OrderResponse.builder()
+                        .orderId(view.orderId())
+                        .productId(view.productId())
+                        .productName(view.productName())
+                        .quantity(view.quantity())
+                        .message("Order retrieved successfully")
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public List<OrderResponse> fromEntities() {
+        return entities.stream()
+                .map(order -> OrderResponse.builder()
+                        .orderId(order.getId())
+                        .productId(order.getProduct().getId())
+                        .productName(order.getProduct().getName())
+                        .quantity(order.getQuantity())
+                        .message("Order retrieved successfully")
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.entity.Product;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * {@link com.example.orderup.entity.Order} as it was mapped before pooled
+ * sequences, with IDENTITY keys, kept only as the insert benchmark's baseline.
+ */
+@Entity
+@Table(name = "identity_orders")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdentityOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String customerName;
+
+    private int quantity;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    private Product product;
+}
@@ -0,0 +1,6 @@
+package com.example.orderup.benchmark;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdentityOrderRepository extends JpaRepository<IdentityOrder, Long> {
+}
@@ -0,0 +1,64 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.dto.CursorPage;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order list reads at several table sizes: the full list, the first keyset
+ * page and the NDJSON stream source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderListBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        orderRepository.deleteAllInBatch();
+        List<Long> productIds = BenchmarkApplication.seedProducts(productRepository, 50, 100);
+        BenchmarkApplication.seedOrders(orderRepository, productRepository, productIds, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderResponse> getAllOrders() {
+        return orderService.getAllOrders();
+    }
+
+    @Benchmark
+    public CursorPage<OrderResponse> getFirstPage() {
+        return orderService.getOrders(null, 100);
+    }
+
+    @Benchmark
+    public void streamAllOrders(Blackhole blackhole) {
+        orderService.streamAllOrders(blackhole::consume);
+    }
+}
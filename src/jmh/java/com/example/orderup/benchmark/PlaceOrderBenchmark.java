@@ -0,0 +1,80 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code placeOrder} throughput per stock strategy, with every thread buying
+ * the same product ({@code products = 1}) or spread over many.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceOrderBenchmark {
+
+    @Param({"pessimistic", "in-memory", "optimistic", "conditional-update", "bucketed"})
+    public String strategy;
+
+    @Param({"1", "1000"})
+    public int products;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(
+                "orderup.order.strategy=" + strategy,
+                "orderup.optimistic.max-attempts=1000");
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        productIds = BenchmarkApplication.seedProducts(context.getBean(ProductRepository.class), products, 1_000_000_000);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOrders() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public OrderResponse placeOrder1Thread() {
+        return placeOrder();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OrderResponse placeOrder8Threads() {
+        return placeOrder();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public OrderResponse placeOrder64Threads() {
+        return placeOrder();
+    }
+
+    private OrderResponse placeOrder() {
+        Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        return orderService.placeOrder(new OrderRequest(productId, "Bench Customer", 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.dto.CursorPage;
+import com.example.orderup.dto.ProductResponse;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProductService} reads at several catalogue sizes, with the read
+ * cache on ({@code caffeine}) and off ({@code none}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductReadBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    @Param({"caffeine", "none"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start("spring.cache.type=" + cache);
+        productService = context.getBean(ProductService.class);
+        productIds = BenchmarkApplication.seedProducts(context.getBean(ProductRepository.class), rows, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())));
+    }
+
+    @Benchmark
+    public int getProductStock() {
+        return productService.getProductStock(productIds.get(ThreadLocalRandom.current().nextInt(productIds.size())));
+    }
+
+    @Benchmark
+    public List<ProductResponse> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public CursorPage<ProductResponse> getFirstPage() {
+        return productService.getProducts(null, 100);
+    }
+}
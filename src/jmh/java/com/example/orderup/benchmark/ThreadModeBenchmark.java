@@ -0,0 +1,81 @@
+package com.example.orderup.benchmark;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursts of concurrent {@code placeOrder} calls served by a 200-thread
+ * platform pool (Tomcat's default) or by one virtual thread per call. Both
+ * go through the connection limiter, so the difference is the cost of
+ * parking requests rather than the database. {@code virtual} needs Java 21;
+ * run with {@code -Djdk.tracePinnedThreads=short} to report pinning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int BURST = 1_000;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"1", "1000"})
+    public int products;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private List<Long> productIds;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void start() throws ReflectiveOperationException {
+        executor = "virtual".equals(mode)
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(200);
+        context = BenchmarkApplication.start("orderup.db.acquire-timeout-ms=60000");
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        productIds = BenchmarkApplication.seedProducts(context.getBean(ProductRepository.class), products, 1_000_000_000);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOrders() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void placeOrderBurst() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+            futures.add(executor.submit(() -> orderService.placeOrder(new OrderRequest(productId, "Bench Customer", 1))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.orderup.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts the method behind the adaptive concurrency limit with this name.
+ * Methods sharing a name share one limit, configured under
+ * {@code orderup.limiter.<name>.*}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdaptiveLimit {
+
+    String value();
+}
@@ -0,0 +1,133 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.exception.ServiceBusyException;
+import com.example.orderup.service.AdaptiveLimiter;
+import com.example.orderup.service.ConnectionPermits;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load in front of {@link AdaptiveLimit} controller methods before they
+ * take a request thread's worth of database time. A call over the limit waits
+ * at most {@code orderup.limiter.max-queue-ms} for a slot and is then turned
+ * away with a 503 and {@code Retry-After}, so a slow database lowers the limit
+ * instead of stacking every thread on the connection pool.
+ *
+ * <p>Failures that mean something downstream is saturated (the connection
+ * limiter, pool or lock timeouts) count as congestion. Only successful calls
+ * that opened a database transaction are latency samples: rate-limit and
+ * sold-out rejections, idempotent replays and cache hits finish in
+ * microseconds, and letting them into the baseline would make every real call
+ * look slow and back the limit off.
+ *
+ * <p>Ordered just inside {@code ExposeInvocationInterceptor}, which must run
+ * first for the annotation to be bound as an advice argument.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "orderup.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveLimitAspect {
+
+    private static final String PREFIX = "orderup.limiter.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionPermits connectionPermits;
+    private final ConcurrentHashMap<String, Limit> limits = new ConcurrentHashMap<>();
+    private final long maxQueueMs;
+    private final long retryAfterSeconds;
+
+    public AdaptiveLimitAspect(Environment environment, MeterRegistry meterRegistry, ConnectionPermits connectionPermits) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.connectionPermits = connectionPermits;
+        this.maxQueueMs = environment.getProperty(PREFIX + "max-queue-ms", Long.class, 20L);
+        this.retryAfterSeconds = environment.getProperty(PREFIX + "retry-after-seconds", Long.class, 1L);
+    }
+
+    @Around("@annotation(adaptiveLimit)")
+    public Object limit(ProceedingJoinPoint joinPoint, AdaptiveLimit adaptiveLimit) throws Throwable {
+        Limit limit = limits.computeIfAbsent(adaptiveLimit.value(), this::create);
+
+        long queuedAt = System.nanoTime();
+        if (!limit.limiter.tryAcquire(maxQueueMs)) {
+            limit.queueTime.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            limit.rejected.increment();
+            throw new ServiceBusyException("Server is at its concurrency limit, retry later", retryAfterSeconds);
+        }
+        long start = System.nanoTime();
+        limit.queueTime.record(start - queuedAt, TimeUnit.NANOSECONDS);
+
+        long transactions = connectionPermits.transactionsBegun();
+        boolean overloaded = false;
+        boolean measured = false;
+        try {
+            Object result = joinPoint.proceed();
+            measured = connectionPermits.transactionsBegun() != transactions;
+            return result;
+        } catch (ServiceBusyException | TransientDataAccessException | CannotCreateTransactionException e) {
+            overloaded = true;
+            throw e;
+        } finally {
+            long now = System.nanoTime();
+            if (overloaded || measured) {
+                limit.limiter.release(now - start, now, overloaded);
+            } else {
+                limit.limiter.releaseUnmeasured();
+            }
+        }
+    }
+
+    private Limit create(String name) {
+        String prefix = PREFIX + name + ".";
+        AdaptiveLimiter limiter = new AdaptiveLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, 20),
+                environment.getProperty(prefix + "min-limit", Integer.class, 1),
+                environment.getProperty(prefix + "max-limit", Integer.class, 200),
+                environment.getProperty(PREFIX + "latency-tolerance", Double.class, 2.0),
+                environment.getProperty(PREFIX + "backoff-ratio", Double.class, 0.9),
+                environment.getProperty(PREFIX + "window-samples", Integer.class, 500));
+
+        Gauge.builder("orderup.limiter.limit", limiter, AdaptiveLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("orderup.limiter.inflight", limiter, AdaptiveLimiter::inFlight)
+                .description("Calls holding a slot")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("orderup.limiter.baseline", limiter, l -> l.baselineNanos() / 1_000_000.0)
+                .description("Lowest recent latency the limit is measured against, in milliseconds")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("orderup.limiter.rejected")
+                .description("Calls shed with a 503 because the limit was reached")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Timer queueTime = Timer.builder("orderup.limiter.queue.time")
+                .description("Time spent waiting for a slot")
+                .tag("limiter", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new Limit(limiter, rejected, queueTime);
+    }
+
+    private record Limit(AdaptiveLimiter limiter, Counter rejected, Timer queueTime) {
+    }
+}
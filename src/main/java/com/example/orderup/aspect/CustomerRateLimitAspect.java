@@ -0,0 +1,56 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.exception.RateLimitedException;
+import com.example.orderup.service.CustomerRateLimiter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-customer token bucket to {@code placeOrder}, async
+ * {@code submit} and {@code reserve} ahead of the sold-out guard, retries and
+ * transaction, so a throttled order costs one striped map lookup and never
+ * touches a connection or row lock. Batches are checked per item by
+ * {@link com.example.orderup.service.BatchOrderServiceImpl}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(name = "orderup.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerRateLimitAspect {
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 3600;
+
+    private final CustomerRateLimiter rateLimiter;
+
+    public CustomerRateLimitAspect(CustomerRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Around("execution(* com.example.orderup.service.OrderService.placeOrder(..))"
+            + " || execution(* com.example.orderup.service.OrderIngestionService.submit(..))"
+            + " || execution(* com.example.orderup.service.ReservationService.reserve(..))")
+    public Object throttle(ProceedingJoinPoint joinPoint) throws Throwable {
+        OrderRequest request = (OrderRequest) joinPoint.getArgs()[0];
+        long waitNanos = rateLimiter.admit(request.getCustomerName());
+        if (waitNanos > 0) {
+            throw new RateLimitedException("Too many orders for customer: " + request.getCustomerName(),
+                    retryAfterSeconds(waitNanos));
+        }
+        return joinPoint.proceed();
+    }
+
+    static long retryAfterSeconds(long waitNanos) {
+        if (waitNanos >= TimeUnit.SECONDS.toNanos(MAX_RETRY_AFTER_SECONDS)) {
+            return MAX_RETRY_AFTER_SECONDS;
+        }
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
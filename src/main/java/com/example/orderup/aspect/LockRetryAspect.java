@@ -0,0 +1,87 @@
+package com.example.orderup.aspect;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs a call in a fresh transaction when the bucketed strategy is picked as
+ * a deadlock victim. An order that found a bucket empty can still hold its lock
+ * while it moves on to the next, so two orders crossing buckets can deadlock;
+ * the database aborts one and it simply tries again. Covers every entry point
+ * that takes or returns bucketed stock: orders, reservations and their
+ * release, and stock adjustments.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "bucketed")
+public class LockRetryAspect {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final DistributionSummary retries;
+
+    public LockRetryAspect(MeterRegistry meterRegistry,
+                           @Value("${orderup.stock-buckets.max-attempts:5}") int maxAttempts,
+                           @Value("${orderup.stock-buckets.backoff-ms:1}") long backoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.retries = DistributionSummary.builder("orderup.order.lock.retries")
+                .description("Retries needed per bucketed stock change after a lock conflict")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.example.orderup.service.OrderService.placeOrder(..))"
+            + " || execution(* com.example.orderup.service.ReservationService.reserve(..))"
+            + " || execution(* com.example.orderup.service.ReservationService.release(..))"
+            + " || execution(* com.example.orderup.service.StockAdjustmentService.adjustStock(..))")
+    public Object retryOnLockConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                retries.record(attempt - 1);
+                return result;
+            } catch (RuntimeException e) {
+                if (!isLockConflict(e) || attempt >= maxAttempts) {
+                    retries.record(attempt - 1);
+                    throw e;
+                }
+                log.debug("Lock conflict on attempt {}, retrying", attempt);
+                long ceiling = backoffMs << Math.min(attempt - 1, 10);
+                if (ceiling > 0) {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+                }
+            }
+        }
+    }
+
+    // OrderServiceImpl wraps unexpected failures, so look through the causes;
+    // SQLSTATE 40001 is the standard code for a deadlock or serialization failure
+    static boolean isLockConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof PessimisticLockingFailureException
+                    || t instanceof PessimisticLockException
+                    || t instanceof LockTimeoutException
+                    || t instanceof SQLException sql && "40001".equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
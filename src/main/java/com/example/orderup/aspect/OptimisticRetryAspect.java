@@ -0,0 +1,76 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.exception.OrderProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs {@code placeOrder} in a fresh transaction when the optimistic
+ * strategy loses a version race. Ordered ahead of the transaction interceptor
+ * so every attempt gets its own transaction and persistence context.
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "optimistic")
+public class OptimisticRetryAspect {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final DistributionSummary retries;
+    private final Counter exhausted;
+
+    public OptimisticRetryAspect(MeterRegistry meterRegistry,
+                                 @Value("${orderup.optimistic.max-attempts:5}") int maxAttempts,
+                                 @Value("${orderup.optimistic.backoff-ms:2}") long backoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.retries = DistributionSummary.builder("orderup.order.optimistic.retries")
+                .description("Retries needed per optimistic order placement")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("orderup.order.optimistic.exhausted")
+                .description("Orders that gave up after max optimistic attempts")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.example.orderup.service.OrderService.placeOrder(..))")
+    public Object retryOnVersionConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                retries.record(attempt - 1);
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    retries.record(attempt - 1);
+                    exhausted.increment();
+                    throw new OrderProcessingException("Failed to process order: too many concurrent updates", e);
+                }
+                log.debug("Version conflict on attempt {}, retrying", attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) throws InterruptedException {
+        long ceiling = backoffMs << Math.min(attempt - 1, 10);
+        if (ceiling > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+}
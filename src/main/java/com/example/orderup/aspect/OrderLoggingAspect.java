@@ -6,6 +6,10 @@ import org.aspectj.lang.annotation.*;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * Per-order request/response logging at DEBUG. Timing lives in
+ * {@link ServiceMetricsAspect}; only unexpected failures are logged at WARN.
+ */
 @Aspect
 @Component
 @Slf4j
@@ -13,19 +17,21 @@ public class OrderLoggingAspect {
 
     @Around("execution(* com.example.orderup.service.OrderService.placeOrder(..))")
     public Object logOrderProcessing(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        log.info("Order processing started. Request: {}", args.length > 0 ? args[0] : "No args");
-
-        long start = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            Object[] args = joinPoint.getArgs();
+            log.debug("Order processing started. Request: {}", args.length > 0 ? args[0] : "No args");
+        }
 
         try {
             Object result = joinPoint.proceed();
-            long duration = System.currentTimeMillis() - start;
-            log.info("Order processing finished successfully in {} ms. Response: {}", duration, result);
+            log.debug("Order processing finished successfully. Response: {}", result);
             return result;
         } catch (Throwable t) {
-            long duration = System.currentTimeMillis() - start;
-            log.error("Order processing failed after {} ms. Error: {}", duration, t.getMessage());
+            if (ServiceMetricsAspect.Outcome.of(t) == ServiceMetricsAspect.Outcome.ERROR) {
+                log.warn("Order processing failed. Error: {}", t.getMessage());
+            } else {
+                log.debug("Order rejected. Reason: {}", t.getMessage());
+            }
             throw t;
         }
     }
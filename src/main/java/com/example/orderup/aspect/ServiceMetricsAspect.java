@@ -0,0 +1,125 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records a latency histogram per service method and outcome, an in-flight
+ * gauge per method, and how long {@code SELECT ... FOR UPDATE} waits for the
+ * product row lock. Outermost advice, so sold-out rejections and optimistic
+ * retries are included in the measured latency.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    enum Outcome {
+        SUCCESS("success"),
+        NOT_FOUND("not_found"),
+        INSUFFICIENT_STOCK("insufficient_stock"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        static Outcome of(Throwable t) {
+            if (t instanceof ProductNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (t instanceof InsufficientStockException) {
+                return INSUFFICIENT_STOCK;
+            }
+            return ERROR;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+    private final Timer lockAcquisition;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockAcquisition = latencyTimer("orderup.stock.lock.acquisition")
+                .description("Time to read product rows with a pessimistic write lock")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.example.orderup.service.*Service.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters m = meters.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+        m.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = Outcome.of(t);
+            throw t;
+        } finally {
+            m.timers[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            m.inFlight.decrementAndGet();
+        }
+    }
+
+    @Around("execution(* com.example.orderup.repository.ProductRepository.findByIdForUpdate(..))"
+            + " || execution(* com.example.orderup.repository.ProductRepository.findAllByIdForUpdate(..))")
+    public Object timeLockAcquisition(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lockAcquisition.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodMeters register(Method method) {
+        // Tag by service interface name: OrderServiceImpl.placeOrder -> OrderService.placeOrder
+        String type = method.getDeclaringClass().getSimpleName();
+        String name = (type.endsWith("Impl") ? type.substring(0, type.length() - 4) : type) + "." + method.getName();
+        MethodMeters m = new MethodMeters();
+        for (Outcome outcome : Outcome.values()) {
+            m.timers[outcome.ordinal()] = latencyTimer("orderup.service.latency")
+                    .description("Service method latency by outcome")
+                    .tag("method", name)
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("orderup.service.in.flight", m.inFlight, AtomicInteger::get)
+                .description("Service calls currently executing")
+                .tag("method", name)
+                .register(meterRegistry);
+        return m;
+    }
+
+    private static Timer.Builder latencyTimer(String name) {
+        return Timer.builder(name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30));
+    }
+
+    private static final class MethodMeters {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer[] timers = new Timer[Outcome.values().length];
+    }
+}
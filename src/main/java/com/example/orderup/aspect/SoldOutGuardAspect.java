@@ -0,0 +1,44 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.service.SoldOutRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects orders for products known to be sold out before the retry and
+ * transaction interceptors run, so they never touch a connection or row lock.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class SoldOutGuardAspect {
+
+    private final SoldOutRegistry soldOutRegistry;
+    private final Counter rejected;
+
+    public SoldOutGuardAspect(SoldOutRegistry soldOutRegistry, MeterRegistry meterRegistry) {
+        this.soldOutRegistry = soldOutRegistry;
+        this.rejected = Counter.builder("orderup.order.soldout.rejected")
+                .description("Orders rejected by the sold-out registry without a transaction")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.example.orderup.service.OrderService.placeOrder(..))")
+    public Object rejectSoldOut(ProceedingJoinPoint joinPoint) throws Throwable {
+        OrderRequest request = (OrderRequest) joinPoint.getArgs()[0];
+        InsufficientStockException rejection = soldOutRegistry.rejection(request.getProductId());
+        if (rejection != null) {
+            rejected.increment();
+            throw rejection;
+        }
+        return joinPoint.proceed();
+    }
+}
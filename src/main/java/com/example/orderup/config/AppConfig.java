@@ -1,7 +1,39 @@
 package com.example.orderup.config;
 
+import com.example.orderup.service.ConnectionPermits;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * Caching runs inside the retry aspects but outside the transaction, so a
+ * cache hit takes neither a database permit nor a connection.
+ */
 @Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 15)
+@EnableScheduling
 public class AppConfig {
+
+    @Bean
+    public ConnectionPermits connectionPermits(MeterRegistry meterRegistry,
+                                               @Value("${orderup.db.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+                                               @Value("${orderup.db.read-max-concurrency:0}") int readMaxConcurrency,
+                                               @Value("${orderup.db.acquire-timeout-ms:1000}") long acquireTimeoutMs) {
+        return new ConnectionPermits(meterRegistry, maxConcurrency, readMaxConcurrency, acquireTimeoutMs);
+    }
+
+    /** Replaces Boot's default {@code JpaTransactionManager}. */
+    @Bean
+    public PermitJpaTransactionManager transactionManager(ConnectionPermits connectionPermits,
+                                                          ObjectProvider<TransactionManagerCustomizers> customizers) {
+        PermitJpaTransactionManager transactionManager = new PermitJpaTransactionManager(connectionPermits);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
 }
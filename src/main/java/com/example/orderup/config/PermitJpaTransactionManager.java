@@ -0,0 +1,39 @@
+package com.example.orderup.config;
+
+import com.example.orderup.service.ConnectionPermits;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * JPA transaction manager that holds a {@link ConnectionPermits} permit for
+ * the lifetime of each physical transaction, which is when a connection is
+ * checked out of the pool.
+ */
+public class PermitJpaTransactionManager extends JpaTransactionManager {
+
+    private final ConnectionPermits permits;
+
+    public PermitJpaTransactionManager(ConnectionPermits permits) {
+        this.permits = permits;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        permits.acquire(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.orderup.config;
+
+import com.example.orderup.dto.RateLimitReport;
+import com.example.orderup.service.CustomerRateLimiter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/** {@code GET /actuator/ratelimits}: bucket count, their estimated heap and the most throttled customers. */
+@Component
+@Endpoint(id = "ratelimits")
+public class RateLimitEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+
+    private final CustomerRateLimiter rateLimiter;
+
+    public RateLimitEndpoint(CustomerRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public RateLimitReport report(@Nullable Integer top) {
+        return RateLimitReport.builder()
+                .trackedCustomers(rateLimiter.trackedCustomers())
+                .estimatedBytes(rateLimiter.estimatedBytes())
+                .topThrottled(rateLimiter.topThrottled(top == null || top < 1 ? DEFAULT_TOP : top))
+                .build();
+    }
+}
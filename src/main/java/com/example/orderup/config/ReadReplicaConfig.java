@@ -0,0 +1,54 @@
+package com.example.orderup.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the database into a primary pool for writes and a replica pool for
+ * {@code @Transactional(readOnly = true)} work, so listing queries cannot take
+ * connections away from order placement. The transaction manager marks the
+ * connection read-only before its first statement and the lazy proxy only then
+ * picks the pool, so the choice follows the transaction, not the caller.
+ * Read-only transactions also get a read-only Hibernate session, which keeps
+ * no dirty-checking snapshots and never flushes.
+ *
+ * <p>The replica is expected to carry the primary's schema and data through
+ * replication; reads may lag the primary by the replication delay.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orderup.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("orderup.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+}
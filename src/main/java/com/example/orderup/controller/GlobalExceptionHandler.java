@@ -2,8 +2,17 @@ package com.example.orderup.controller;
 
 import com.example.orderup.dto.ErrorResponse;
 import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.InvalidRequestException;
 import com.example.orderup.exception.OrderProcessingException;
+import com.example.orderup.exception.OrderQueueFullException;
 import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.exception.RateLimitedException;
+import com.example.orderup.exception.ReservationNotFoundException;
+import com.example.orderup.exception.ReservationStateException;
+import com.example.orderup.exception.ServiceBusyException;
+import com.example.orderup.exception.TicketNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +31,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(TicketNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTicketNotFound(TicketNotFoundException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Ticket Not Found")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReservationNotFound(ReservationNotFoundException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Reservation Not Found")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ReservationStateException.class)
+    public ResponseEntity<ErrorResponse> handleReservationState(ReservationStateException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Reservation Not Held")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException ex) {
         ErrorResponse error = ErrorResponse.builder()
@@ -32,6 +71,52 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Invalid Request")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleQueueFull(OrderQueueFullException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(ServiceBusyException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimited(RateLimitedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(OrderProcessingException.class)
     public ResponseEntity<ErrorResponse> handleOrderProcessing(OrderProcessingException ex) {
         ErrorResponse error = ErrorResponse.builder()
@@ -42,6 +127,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Concurrent Update")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
         ErrorResponse error = ErrorResponse.builder()
@@ -1,12 +1,26 @@
 package com.example.orderup.controller;
 
+import com.example.orderup.aspect.AdaptiveLimit;
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.OrderRequest;
 import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.dto.OrderTicketResponse;
+import com.example.orderup.dto.ReservationResponse;
+import com.example.orderup.event.OrderPlacedEvent;
+import com.example.orderup.service.BatchOrderService;
+import com.example.orderup.service.IdempotencyService;
+import com.example.orderup.service.OrderEventService;
+import com.example.orderup.service.OrderIngestionService;
 import com.example.orderup.service.OrderService;
+import com.example.orderup.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
@@ -18,12 +32,62 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final BatchOrderService batchOrderService;
+    private final OrderIngestionService orderIngestionService;
+    private final IdempotencyService idempotencyService;
+    private final ReservationService reservationService;
+    private final OrderEventService orderEventService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<OrderResponse> placeOrder(@Valid @RequestBody OrderRequest request) {
-        OrderResponse response = orderService.placeOrder(request);
+    @AdaptiveLimit("orders")
+    public ResponseEntity<OrderResponse> placeOrder(@Valid @RequestBody OrderRequest request,
+                                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        OrderResponse response = idempotencyKey != null
+                ? idempotencyService.placeOrder(idempotencyKey, request)
+                : orderService.placeOrder(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> placeOrders(@RequestBody List<OrderRequest> requests) {
+        BatchOrderResponse response = batchOrderService.placeOrders(requests);
+        return ResponseEntity.ok(response);
+    }
+    @PostMapping("/async")
+    public ResponseEntity<OrderTicketResponse> submitOrder(@Valid @RequestBody OrderRequest request) {
+        OrderTicketResponse response = orderIngestionService.submit(request);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+    @GetMapping("/tickets/{id}")
+    public ResponseEntity<OrderTicketResponse> getTicket(@PathVariable String id) {
+        OrderTicketResponse response = orderIngestionService.getTicket(id);
+        return ResponseEntity.ok(response);
+    }
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody OrderRequest request) {
+        ReservationResponse response = reservationService.reserve(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    @PostMapping("/reservations/{id}/confirm")
+    public ResponseEntity<OrderResponse> confirmReservation(@PathVariable Long id) {
+        OrderResponse response = reservationService.confirm(id);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<ReservationResponse> releaseReservation(@PathVariable Long id) {
+        ReservationResponse response = reservationService.release(id);
+        return ResponseEntity.ok(response);
+    }
+    @GetMapping(value = "/events", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> pollEvents(@RequestParam(defaultValue = "0") long after,
+                                                            @RequestParam(defaultValue = "500") int limit,
+                                                            @RequestParam(defaultValue = "25000") long waitMs) {
+        // Checked and read without waiting here, so bad parameters get a 400;
+        // only an empty poll waits, on the async thread rather than this one
+        List<OrderPlacedEvent> ready = orderEventService.poll(after, limit, 0);
+        return NdjsonResponses.stream(objectMapper, sink ->
+                (ready.isEmpty() && waitMs > 0 ? orderEventService.poll(after, limit, waitMs) : ready).forEach(sink));
+    }
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
         OrderResponse response = orderService.getOrderById(id);
@@ -34,6 +98,15 @@ public class OrderController {
         List<OrderResponse> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<OrderResponse>> getOrders(@RequestParam(required = false) String after,
+                                                               @RequestParam int limit) {
+        return ResponseEntity.ok(orderService.getOrders(after, limit));
+    }
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders() {
+        return NdjsonResponses.stream(objectMapper, orderService::streamAllOrders);
+    }
 
 
 }
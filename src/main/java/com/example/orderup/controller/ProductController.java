@@ -1,14 +1,25 @@
 package com.example.orderup.controller;
 
+import com.example.orderup.aspect.AdaptiveLimit;
+import com.example.orderup.dto.CursorPage;
+import com.example.orderup.dto.ProductImportResponse;
 import com.example.orderup.dto.ProductRequest;
 import com.example.orderup.dto.ProductResponse;
+import com.example.orderup.dto.StockAdjustmentRequest;
+import com.example.orderup.dto.StockAdjustmentResponse;
+import com.example.orderup.service.ProductImportService;
 import com.example.orderup.service.ProductService;
+import com.example.orderup.service.StockAdjustmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -17,6 +28,9 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final StockAdjustmentService stockAdjustmentService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
@@ -24,18 +38,47 @@ public class ProductController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportResponse> importCsv(InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductImportService.Format.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductImportResponse> importNdjson(InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductImportService.Format.NDJSON));
+    }
+
+    @PostMapping("/stock-adjustments")
+    public ResponseEntity<StockAdjustmentResponse> adjustStock(@RequestBody List<StockAdjustmentRequest> adjustments) {
+        return ResponseEntity.ok(stockAdjustmentService.adjustStock(adjustments));
+    }
+
     @GetMapping("/{id}")
+    @AdaptiveLimit("product-reads")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
         ProductResponse response = productService.getProductById(id);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
+    @AdaptiveLimit("product-reads")
     public ResponseEntity<List<ProductResponse>> getAllProducts() {
         List<ProductResponse> responses = productService.getAllProducts();
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping(params = "limit")
+    @AdaptiveLimit("product-reads")
+    public ResponseEntity<CursorPage<ProductResponse>> getProducts(@RequestParam(required = false) String after,
+                                                                   @RequestParam int limit) {
+        return ResponseEntity.ok(productService.getProducts(after, limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        return NdjsonResponses.stream(objectMapper, productService::streamAllProducts);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
         ProductResponse response = productService.updateProduct(id, request);
@@ -49,6 +92,7 @@ public class ProductController {
     }
 
     @GetMapping("/{id}/stock")
+    @AdaptiveLimit("product-reads")
     public ResponseEntity<Integer> getProductStock(@PathVariable Long id) {
         int stock = productService.getProductStock(id);
         return ResponseEntity.ok(stock);
@@ -0,0 +1,16 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BatchOrderItemResult {
+    private int index;
+    private boolean success;
+    private Long orderId;
+    private Long productId;
+    private String productName;
+    private int quantity;
+    private String message;
+}
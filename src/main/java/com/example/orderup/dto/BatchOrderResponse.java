@@ -0,0 +1,14 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class BatchOrderResponse {
+    private int accepted;
+    private int rejected;
+    private List<BatchOrderItemResult> results;
+}
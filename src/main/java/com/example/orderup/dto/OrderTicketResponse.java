@@ -0,0 +1,16 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OrderTicketResponse {
+    private String ticketId;
+    private OrderTicketStatus status;
+    private Long orderId;
+    private Long productId;
+    private String productName;
+    private int quantity;
+    private String message;
+}
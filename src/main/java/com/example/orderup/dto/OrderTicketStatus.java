@@ -0,0 +1,7 @@
+package com.example.orderup.dto;
+
+public enum OrderTicketStatus {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ProductImportError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ProductImportResponse {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    /** The first {@code orderup.import.max-errors} rejected rows; {@code errorsTruncated} says whether there were more. */
+    private List<ProductImportError> errors;
+    private boolean errorsTruncated;
+    private long elapsedMs;
+    private double rowsPerSecond;
+}
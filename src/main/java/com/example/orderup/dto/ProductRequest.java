@@ -1,5 +1,6 @@
 package com.example.orderup.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
@@ -16,4 +17,13 @@ public class ProductRequest {
 
     @Min(value = 0, message = "Stock cannot be negative")
     private int stock;
+
+    /** Stock buckets for the bucketed order strategy; omit to use the configured default. */
+    @Min(value = 1, message = "Stock buckets must be at least 1")
+    @Max(value = 64, message = "Stock buckets cannot exceed 64")
+    private Integer stockBuckets;
+
+    public ProductRequest(String name, int stock) {
+        this(name, stock, null);
+    }
 }
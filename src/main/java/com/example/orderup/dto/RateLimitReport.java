@@ -0,0 +1,14 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class RateLimitReport {
+    private final int trackedCustomers;
+    private final long estimatedBytes;
+    private final List<ThrottledCustomer> topThrottled;
+}
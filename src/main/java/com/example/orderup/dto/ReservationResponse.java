@@ -0,0 +1,18 @@
+package com.example.orderup.dto;
+
+import com.example.orderup.entity.ReservationStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReservationResponse {
+    private Long reservationId;
+    private ReservationStatus status;
+    private Long productId;
+    private String productName;
+    private int quantity;
+    private long expiresAt;
+    private Long orderId;
+    private String message;
+}
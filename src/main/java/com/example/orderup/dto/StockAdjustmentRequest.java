@@ -0,0 +1,16 @@
+package com.example.orderup.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockAdjustmentRequest {
+
+    private Long productId;
+
+    /** Units to add, or remove when negative. */
+    private int delta;
+}
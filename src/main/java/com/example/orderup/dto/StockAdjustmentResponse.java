@@ -0,0 +1,13 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class StockAdjustmentResponse {
+    private int adjusted;
+    private List<StockLevel> levels;
+}
@@ -0,0 +1,14 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class StockLevel {
+    private Long productId;
+    private String productName;
+    /** Net change applied; adjustments for the same product are summed. */
+    private int delta;
+    private int stock;
+}
@@ -0,0 +1,13 @@
+package com.example.orderup.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ThrottledCustomer {
+    private final String customerName;
+    private final long throttled;
+    private final double ratePerSecond;
+    private final int burst;
+}
@@ -0,0 +1,58 @@
+package com.example.orderup.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The response of a completed order, keyed by the client's Idempotency-Key.
+ * Written in the same transaction as the order it describes. Always
+ * persisted, never merged, so a duplicate key fails the insert instead of
+ * overwriting the first response.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_created_at", columnList = "createdAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    private Long orderId;
+
+    private Long productId;
+
+    private String productName;
+
+    private String customerName;
+
+    private int quantity;
+
+    private String message;
+
+    private long createdAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        newRecord = false;
+    }
+}
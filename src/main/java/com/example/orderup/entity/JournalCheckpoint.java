@@ -0,0 +1,30 @@
+package com.example.orderup.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * How far the order journal has been projected into {@code orders}. A single
+ * row, updated in the same transaction as the rows it accounts for, so a
+ * restart resumes exactly where the last projection committed.
+ */
+@Entity
+@Table(name = "journal_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalCheckpoint {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /** Journal position just after the last projected record. */
+    private long position;
+
+    /** Highest order ID projected so far, so IDs are not reused once segments are deleted. */
+    private long highestOrderId;
+}
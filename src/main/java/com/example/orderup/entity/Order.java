@@ -13,7 +13,7 @@ import lombok.*;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("orders_seq")
     private Long id;
 
     private String customerName;
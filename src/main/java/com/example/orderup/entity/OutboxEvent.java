@@ -0,0 +1,60 @@
+package com.example.orderup.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * An order event written in the same transaction as the order. IDs come from
+ * a pooled sequence so bulk paths batch these inserts, and only roughly follow
+ * insert order; {@code seq}, the event's offset in the stream, is assigned by
+ * {@code OutboxRelay} once the row is visible, so offsets follow commit order.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_created_at", columnList = "createdAt"),
+        @Index(name = "idx_outbox_order_id", columnList = "orderId"),
+        @Index(name = "idx_outbox_seq", columnList = "seq", unique = true)})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public static final String ORDER_PLACED = "OrderPlaced";
+
+    @Id
+    @PooledSequence("outbox_seq")
+    private Long id;
+
+    /** Stream offset; {@code null} until the relay has picked the row up. */
+    private Long seq;
+
+    private String type;
+
+    private Long orderId;
+
+    private Long productId;
+
+    private String productName;
+
+    private String customerName;
+
+    private int quantity;
+
+    private long createdAt;
+
+    /** The {@code OrderPlaced} row for an order inserted in the current transaction. */
+    public static OutboxEvent orderPlaced(Long orderId, Long productId, String productName,
+                                          String customerName, int quantity) {
+        return OutboxEvent.builder()
+                .type(ORDER_PLACED)
+                .orderId(orderId)
+                .productId(productId)
+                .productName(productName)
+                .customerName(customerName)
+                .quantity(quantity)
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.orderup.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates IDs from the named database sequence through
+ * {@link PooledSequenceGenerator}, so Hibernate knows keys before insert and
+ * can batch the inserts.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /** Name of the database sequence. */
+    String value();
+}
@@ -0,0 +1,38 @@
+package com.example.orderup.entity;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator with the pooled optimizer. Each sequence call reserves a
+ * block of {@value #ALLOCATION_SIZE} IDs (default {@value #DEFAULT_ALLOCATION_SIZE}),
+ * handed out in memory; the sequence is created with the same increment.
+ * Set it with {@code spring.jpa.properties.orderup.id.allocation-size}.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "orderup.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Object allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(ALLOCATION_SIZE, DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(SEQUENCE_PARAM, sequenceName);
+        params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
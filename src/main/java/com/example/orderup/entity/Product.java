@@ -15,13 +15,24 @@ import java.util.List;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("product_seq")
     private Long id;
 
     private String name;
 
     private int stock;
 
+    /** Buckets the bucketed strategy splits stock into; {@code null} uses the configured default. */
+    private Integer stockBuckets;
+
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private List<Order> orders = new ArrayList<>();
+
+    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<Reservation> reservations = new ArrayList<>();
 }
@@ -0,0 +1,38 @@
+package com.example.orderup.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Stock held for a customer until {@code expiresAt}. The quantity is taken
+ * from the product when the hold is made and given back if it is released
+ * or expires; confirming turns it into an order.
+ */
+@Entity
+@Table(name = "reservations", indexes = @Index(name = "idx_reservation_status", columnList = "status"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reservation {
+
+    @Id
+    @PooledSequence("reservations_seq")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    private String customerName;
+
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    private long expiresAt;
+
+    private Long orderId;
+}
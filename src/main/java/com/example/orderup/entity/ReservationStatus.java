@@ -0,0 +1,8 @@
+package com.example.orderup.entity;
+
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,31 @@
+package com.example.orderup.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One slice of a product's stock when the bucketed strategy shards it. The
+ * product row keeps only stock not yet split; available stock is that plus
+ * the sum of its buckets. Keyed by product ID without a foreign key so a
+ * product can be deleted without touching its buckets first.
+ */
+@Entity
+@Table(name = "stock_buckets",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_bucket", columnNames = {"productId", "bucketIndex"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockBucket {
+
+    @Id
+    @PooledSequence("stock_buckets_seq")
+    private Long id;
+
+    private Long productId;
+
+    private int bucketIndex;
+
+    private int stock;
+}
@@ -0,0 +1,26 @@
+package com.example.orderup.event;
+
+import com.example.orderup.entity.OutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@code OutboxRelay} once the order's transaction has committed,
+ * in offset order. Also the payload of {@code GET /api/orders/events}.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderPlacedEvent {
+    private final long offset;
+    private final Long orderId;
+    private final Long productId;
+    private final String productName;
+    private final String customerName;
+    private final int quantity;
+    private final long createdAt;
+
+    public static OrderPlacedEvent from(OutboxEvent row) {
+        return new OrderPlacedEvent(row.getSeq(), row.getOrderId(), row.getProductId(), row.getProductName(),
+                row.getCustomerName(), row.getQuantity(), row.getCreatedAt());
+    }
+}
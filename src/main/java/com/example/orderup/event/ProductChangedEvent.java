@@ -0,0 +1,14 @@
+package com.example.orderup.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a product's stock was overwritten or the product was deleted
+ * outside of the order path.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final Long productId;
+}
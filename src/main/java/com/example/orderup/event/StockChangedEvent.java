@@ -0,0 +1,14 @@
+package com.example.orderup.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an order path (or a stock write-back) changed a product's
+ * stock. Listeners that cache stock react after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class StockChangedEvent {
+    private final Long productId;
+}
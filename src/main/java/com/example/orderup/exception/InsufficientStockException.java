@@ -1,7 +1,11 @@
 package com.example.orderup.exception;
 
+/**
+ * An expected business outcome rather than a fault, so no stack trace is
+ * captured; under a sell-out these are thrown far more often than orders succeed.
+ */
 public class InsufficientStockException extends RuntimeException {
     public InsufficientStockException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,15 @@
+package com.example.orderup.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitedException extends RuntimeException {
+
+    /** Sent back as {@code Retry-After}. */
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.orderup.exception;
+
+/** The reservation is no longer held, so it cannot be confirmed or released. */
+public class ReservationStateException extends RuntimeException {
+    public ReservationStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.orderup.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    /** Sent back as {@code Retry-After}. */
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message) {
+        this(message, 1);
+    }
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
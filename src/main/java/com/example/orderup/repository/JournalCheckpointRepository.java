@@ -0,0 +1,7 @@
+package com.example.orderup.repository;
+
+import com.example.orderup.entity.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, Integer> {
+}
@@ -1,7 +1,34 @@
 package com.example.orderup.repository;
 
 import com.example.orderup.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("SELECT new com.example.orderup.repository.OrderView(o.id, p.id, p.name, o.quantity) "
+            + "FROM Order o JOIN o.product p WHERE o.id = :id")
+    Optional<OrderView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.orderup.repository.OrderView(o.id, p.id, p.name, o.quantity) "
+            + "FROM Order o JOIN o.product p ORDER BY o.id")
+    List<OrderView> findAllViews();
+
+    @Query("SELECT new com.example.orderup.repository.OrderView(o.id, p.id, p.name, o.quantity) "
+            + "FROM Order o JOIN o.product p WHERE o.id > :after ORDER BY o.id")
+    List<OrderView> findPageAfter(@Param("after") long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.orderup.repository.OrderView(o.id, p.id, p.name, o.quantity) "
+            + "FROM Order o JOIN o.product p ORDER BY o.id")
+    Stream<OrderView> streamAll();
 }
@@ -0,0 +1,4 @@
+package com.example.orderup.repository;
+
+public record OrderView(Long orderId, Long productId, String productName, int quantity) {
+}
@@ -0,0 +1,28 @@
+package com.example.orderup.repository;
+
+import com.example.orderup.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.seq IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnsequenced(Limit limit);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.seq > :after AND e.seq <= :upTo ORDER BY e.seq")
+    List<OutboxEvent> findBetween(@Param("after") long after, @Param("upTo") long upTo, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.seq), 0) FROM OutboxEvent e")
+    long findMaxSeq();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.createdAt < :cutoff AND e.seq <= :upTo")
+    int deleteCreatedBefore(@Param("cutoff") long cutoff, @Param("upTo") long upTo);
+}
@@ -2,17 +2,84 @@ package com.example.orderup.repository;
 
 import com.example.orderup.entity.Product;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    /** Stock not yet split into buckets plus whatever the buckets hold; just the column for unbucketed products. */
+    String AVAILABLE_STOCK = "CAST(p.stock + COALESCE((SELECT SUM(b.stock) FROM StockBucket b WHERE b.productId = p.id), 0) AS Integer)";
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdForUpdate(@Param("id") Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     Optional<Product> findById(Long id);
+
+    @Query("SELECT new com.example.orderup.repository.ProductView(p.id, p.name, " + AVAILABLE_STOCK + ") "
+            + "FROM Product p WHERE p.id = :id")
+    Optional<ProductView> findViewById(@Param("id") Long id);
+
+    /** The product row's own stock column, ignoring buckets; bypasses any managed entity. */
+    @Query("SELECT new com.example.orderup.repository.ProductView(p.id, p.name, p.stock) FROM Product p WHERE p.id = :id")
+    Optional<ProductView> findRowViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.orderup.repository.ProductView(p.id, p.name, " + AVAILABLE_STOCK + ") "
+            + "FROM Product p ORDER BY p.id")
+    List<ProductView> findAllViews();
+
+    @Query("SELECT new com.example.orderup.repository.ProductView(p.id, p.name, " + AVAILABLE_STOCK + ") "
+            + "FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<ProductView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.orderup.repository.ProductView(p.id, p.name, " + AVAILABLE_STOCK + ") "
+            + "FROM Product p WHERE p.id > :after ORDER BY p.id")
+    List<ProductView> findPageAfter(@Param("after") long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.orderup.repository.ProductView(p.id, p.name, " + AVAILABLE_STOCK + ") "
+            + "FROM Product p ORDER BY p.id")
+    Stream<ProductView> streamAll();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.version = p.version + 1 WHERE p.id = :id")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * {@link #decrementStockIfAvailable} that also returns the row as the update
+     * left it, in the same statement; empty when no row was updated.
+     */
+    @Transactional
+    @Query(value = "SELECT id, name, stock FROM FINAL TABLE (UPDATE product SET stock = stock - :quantity, "
+            + "version = version + 1 WHERE id = :id AND stock >= :quantity)", nativeQuery = true)
+    Optional<ProductView> decrementStockReturning(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /** Zeroes the column if it still holds {@code stock}, so the caller owns exactly those units. */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = 0, p.version = p.version + 1 WHERE p.id = :id AND p.stock = :stock AND p.stock > 0")
+    int takeStock(@Param("id") Long id, @Param("stock") int stock);
 }
@@ -0,0 +1,4 @@
+package com.example.orderup.repository;
+
+public record ProductView(Long id, String name, int stock) {
+}
@@ -0,0 +1,4 @@
+package com.example.orderup.repository;
+
+public record ReservationExpiry(Long id, long expiresAt) {
+}
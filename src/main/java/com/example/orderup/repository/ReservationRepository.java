@@ -0,0 +1,29 @@
+package com.example.orderup.repository;
+
+import com.example.orderup.entity.Reservation;
+import com.example.orderup.entity.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id IN :ids AND r.status = :status ORDER BY r.id")
+    List<Reservation> findAllByIdAndStatusForUpdate(@Param("ids") Collection<Long> ids,
+                                                    @Param("status") ReservationStatus status);
+
+    @Query("SELECT new com.example.orderup.repository.ReservationExpiry(r.id, r.expiresAt) "
+            + "FROM Reservation r WHERE r.status = :status")
+    List<ReservationExpiry> findExpiriesByStatus(@Param("status") ReservationStatus status);
+}
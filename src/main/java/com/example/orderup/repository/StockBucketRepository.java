@@ -0,0 +1,44 @@
+package com.example.orderup.repository;
+
+import com.example.orderup.entity.StockBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Buckets are only read through projections and written with bulk updates,
+ * so a bucket entity left in the persistence context can never go stale.
+ */
+public interface StockBucketRepository extends JpaRepository<StockBucket, Long> {
+
+    @Query("SELECT new com.example.orderup.repository.StockBucketView(b.bucketIndex, b.stock) "
+            + "FROM StockBucket b WHERE b.productId = :productId ORDER BY b.bucketIndex")
+    List<StockBucketView> findViewsByProductId(@Param("productId") Long productId);
+
+    @Query("SELECT DISTINCT b.productId FROM StockBucket b ORDER BY b.productId")
+    List<Long> findBucketedProductIds();
+
+    /** Takes the row lock on every bucket of the product; the stock is left as it is. */
+    @Modifying
+    @Query("UPDATE StockBucket b SET b.stock = b.stock WHERE b.productId = :productId")
+    int lockAll(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("UPDATE StockBucket b SET b.stock = b.stock - :quantity "
+            + "WHERE b.productId = :productId AND b.bucketIndex = :index AND b.stock >= :quantity")
+    int decrementIfAvailable(@Param("productId") Long productId, @Param("index") int index,
+                             @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE StockBucket b SET b.stock = b.stock + :delta WHERE b.productId = :productId AND b.bucketIndex = :index")
+    int adjust(@Param("productId") Long productId, @Param("index") int index, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StockBucket b WHERE b.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -0,0 +1,4 @@
+package com.example.orderup.repository;
+
+public record StockBucketView(int bucketIndex, int stock) {
+}
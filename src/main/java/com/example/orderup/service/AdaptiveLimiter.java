@@ -0,0 +1,149 @@
+package com.example.orderup.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows measured latency, AIMD style. Each completed
+ * call is compared with the baseline, the lowest latency seen over the last
+ * two windows of {@code windowSamples} calls. A call slower than
+ * {@code tolerance} times the baseline, or one that failed because something
+ * downstream was overloaded, multiplies the limit by {@code backoffRatio} at
+ * most once per that call's latency. Otherwise the limit grows by about one per
+ * limit's worth of calls, but only while at least half of it is in use.
+ *
+ * <p>Because the baseline window slides, a database that stays slower becomes
+ * the new baseline and the limit stops shrinking instead of collapsing to the
+ * minimum.
+ */
+public class AdaptiveLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int windowSamples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private volatile double limit;
+    private volatile int inFlight;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private long previousMinRtt = Long.MAX_VALUE;
+    private int windowCount;
+    private long lastBackoffNanos;
+    private boolean backedOff;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit,
+                           double tolerance, double backoffRatio, int windowSamples) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance <= 1.0 || backoffRatio <= 0.0 || backoffRatio >= 1.0 || windowSamples < 1) {
+            throw new IllegalArgumentException("tolerance must exceed 1 and backoffRatio lie between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowSamples = windowSamples;
+        this.limit = initialLimit;
+    }
+
+    /** Takes a slot, waiting up to {@code maxWaitMs} for one; {@code false} means the call should be shed. */
+    public boolean tryAcquire(long maxWaitMs) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        lock.lock();
+        try {
+            while (inFlight >= limit()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot taken by {@link #tryAcquire} and adjusts the limit.
+     * {@code overloaded} marks a call that failed because a dependency was
+     * saturated; its latency says nothing about the baseline.
+     */
+    public void release(long rttNanos, long nowNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            int used = inFlight;
+            inFlight--;
+            if (overloaded) {
+                backOff(rttNanos, nowNanos);
+            } else {
+                long baseline = record(rttNanos);
+                if (rttNanos > baseline * tolerance) {
+                    backOff(rttNanos, nowNanos);
+                } else if (used * 2 >= limit) {
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot without a latency sample, for calls whose latency says
+     * nothing about the database: rejected before any work, or served from memory.
+     */
+    public void releaseUnmeasured() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    /** Lowest latency over the last two windows, in nanoseconds; 0 before the first call. */
+    public long baselineNanos() {
+        lock.lock();
+        try {
+            long baseline = Math.min(windowMinRtt, previousMinRtt);
+            return baseline == Long.MAX_VALUE ? 0 : baseline;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long record(long rttNanos) {
+        windowMinRtt = Math.min(windowMinRtt, rttNanos);
+        if (++windowCount >= windowSamples) {
+            previousMinRtt = windowMinRtt;
+            windowMinRtt = Long.MAX_VALUE;
+            windowCount = 0;
+        }
+        return Math.min(windowMinRtt, previousMinRtt);
+    }
+
+    private void backOff(long rttNanos, long nowNanos) {
+        // Calls already in flight when the limit dropped report the same congestion
+        if (backedOff && nowNanos - lastBackoffNanos < rttNanos) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastBackoffNanos = nowNanos;
+        backedOff = true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+
+import java.util.List;
+
+public interface BatchOrderService {
+
+    /** Charges each item against its customer's rate limit; throttled items fail on their own. */
+    BatchOrderResponse placeOrders(List<OrderRequest> requests);
+
+    /** For orders already charged against the rate limit when they were accepted, such as async tickets. */
+    BatchOrderResponse placeAdmittedOrders(List<OrderRequest> requests);
+}
@@ -0,0 +1,242 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.BatchOrderItemResult;
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.OutboxEvent;
+import com.example.orderup.entity.Product;
+import com.example.orderup.event.StockChangedEvent;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.exception.OrderProcessingException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OutboxEventRepository;
+import com.example.orderup.repository.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Places a burst of orders in one transaction. Requests are grouped by product,
+ * products are locked in ascending ID order so concurrent batches cannot
+ * deadlock, each product's stock is written once and the order rows go out
+ * through {@code saveAll} so Hibernate can batch the inserts. The in-memory and
+ * bucketed strategies never lock the product row, so under them each item is
+ * allocated through the strategy instead.
+ *
+ * <p>Items are checked against the per-customer rate limit after validation,
+ * so one customer cannot get round it by batching; a throttled item fails on
+ * its own like any other rejection.
+ */
+@Service
+public class BatchOrderServiceImpl implements BatchOrderService {
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final Validator validator;
+    private final ObjectProvider<StockEngine> stockEngine;
+    private final ObjectProvider<BucketedStockStrategy> bucketedStrategy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SoldOutRegistry soldOutRegistry;
+    private final OutboxEventRepository outboxEventRepository;
+    private final CustomerRateLimiter rateLimiter;
+    private final int maxSize;
+
+    public BatchOrderServiceImpl(ProductRepository productRepository,
+                                 OrderRepository orderRepository,
+                                 Validator validator,
+                                 ObjectProvider<StockEngine> stockEngine,
+                                 ObjectProvider<BucketedStockStrategy> bucketedStrategy,
+                                 ApplicationEventPublisher eventPublisher,
+                                 SoldOutRegistry soldOutRegistry,
+                                 OutboxEventRepository outboxEventRepository,
+                                 CustomerRateLimiter rateLimiter,
+                                 @Value("${orderup.batch.max-size:1000}") int maxSize) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.validator = validator;
+        this.stockEngine = stockEngine;
+        this.bucketedStrategy = bucketedStrategy;
+        this.eventPublisher = eventPublisher;
+        this.soldOutRegistry = soldOutRegistry;
+        this.outboxEventRepository = outboxEventRepository;
+        this.rateLimiter = rateLimiter;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @Transactional
+    public BatchOrderResponse placeOrders(List<OrderRequest> requests) {
+        return place(requests, true);
+    }
+
+    @Override
+    @Transactional
+    public BatchOrderResponse placeAdmittedOrders(List<OrderRequest> requests) {
+        return place(requests, false);
+    }
+
+    private BatchOrderResponse place(List<OrderRequest> requests, boolean rateLimited) {
+        if (requests.isEmpty() || requests.size() > maxSize) {
+            throw new InvalidRequestException("Batch must contain between 1 and " + maxSize + " orders");
+        }
+
+        BatchOrderItemResult[] results = new BatchOrderItemResult[requests.size()];
+        Map<Long, List<Integer>> byProduct = new TreeMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BatchOrderItemResult.builder().index(i).success(false).message("order must not be null").build();
+                continue;
+            }
+            Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = failed(i, request, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (rateLimited && rateLimiter.admit(request.getCustomerName()) > 0) {
+                results[i] = failed(i, request, "Too many orders for customer: " + request.getCustomerName());
+            } else if (soldOutRegistry.isSoldOut(request.getProductId())) {
+                results[i] = failed(i, request, soldOutRegistry.rejection(request.getProductId()).getMessage());
+            } else {
+                byProduct.computeIfAbsent(request.getProductId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        try {
+            List<Accepted> accepted = new ArrayList<>();
+            StockEngine engine = stockEngine.getIfAvailable();
+            BucketedStockStrategy bucketed = bucketedStrategy.getIfAvailable();
+            if (engine != null) {
+                allocateEach(engine::reserve, requests, byProduct, results, accepted);
+            } else if (bucketed != null) {
+                allocateEach(bucketed::allocate, requests, byProduct, results, accepted);
+            } else {
+                allocateLocked(requests, byProduct, results, accepted);
+            }
+
+            orderRepository.saveAll(accepted.stream().map(Accepted::order).toList());
+            outboxEventRepository.saveAll(accepted.stream()
+                    .map(a -> OutboxEvent.orderPlaced(a.order().getId(), a.order().getProduct().getId(),
+                            a.productName(), a.order().getCustomerName(), a.order().getQuantity()))
+                    .toList());
+            accepted.stream()
+                    .map(a -> a.order().getProduct().getId())
+                    .distinct()
+                    .forEach(productId -> eventPublisher.publishEvent(new StockChangedEvent(productId)));
+
+            for (Accepted a : accepted) {
+                results[a.index()] = BatchOrderItemResult.builder()
+                        .index(a.index())
+                        .success(true)
+                        .orderId(a.order().getId())
+                        .productId(a.order().getProduct().getId())
+                        .productName(a.productName())
+                        .quantity(a.order().getQuantity())
+                        .message("Order placed successfully")
+                        .build();
+            }
+
+            return BatchOrderResponse.builder()
+                    .accepted(accepted.size())
+                    .rejected(results.length - accepted.size())
+                    .results(Arrays.asList(results))
+                    .build();
+
+        } catch (Exception e) {
+            throw new OrderProcessingException("Failed to process order batch: " + e.getMessage(), e);
+        }
+    }
+
+    private void allocateLocked(List<OrderRequest> requests, Map<Long, List<Integer>> byProduct,
+                                BatchOrderItemResult[] results, List<Accepted> accepted) {
+        Map<Long, Long> epochs = new HashMap<>();
+        byProduct.keySet().forEach(id -> epochs.put(id, soldOutRegistry.epoch(id)));
+
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(byProduct.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        byProduct.forEach((productId, indexes) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                indexes.forEach(i -> results[i] = failed(i, requests.get(i), "Product not found: " + productId));
+                return;
+            }
+
+            int stock = product.getStock();
+            for (int i : indexes) {
+                OrderRequest request = requests.get(i);
+                if (stock < request.getQuantity()) {
+                    results[i] = failed(i, request, "Insufficient stock for product: " + product.getName());
+                } else {
+                    stock -= request.getQuantity();
+                    accepted.add(new Accepted(i, toOrder(request, product), product.getName()));
+                }
+            }
+            product.setStock(stock);
+            if (stock == 0) {
+                soldOutRegistry.markSoldOutAfterCommit(productId, product.getName(), epochs.get(productId));
+            }
+        });
+    }
+
+    private void allocateEach(BiFunction<Long, Integer, StockAllocation> allocator, List<OrderRequest> requests,
+                              Map<Long, List<Integer>> byProduct, BatchOrderItemResult[] results,
+                              List<Accepted> accepted) {
+        byProduct.forEach((productId, indexes) -> {
+            for (int i : indexes) {
+                OrderRequest request = requests.get(i);
+                try {
+                    long epoch = soldOutRegistry.epoch(productId);
+                    StockAllocation allocation = allocator.apply(productId, request.getQuantity());
+                    if (allocation.getRemainingStock() <= 0) {
+                        soldOutRegistry.markSoldOutAfterCommit(productId, allocation.getProductName(), epoch);
+                    }
+                    accepted.add(new Accepted(i, toOrder(request, allocation.getProduct()), allocation.getProductName()));
+                } catch (ProductNotFoundException | InsufficientStockException e) {
+                    results[i] = failed(i, request, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private Order toOrder(OrderRequest request, Product product) {
+        return Order.builder()
+                .customerName(request.getCustomerName())
+                .quantity(request.getQuantity())
+                .product(product)
+                .build();
+    }
+
+    private BatchOrderItemResult failed(int index, OrderRequest request, String message) {
+        return BatchOrderItemResult.builder()
+                .index(index)
+                .success(false)
+                .productId(request.getProductId())
+                .quantity(request.getQuantity())
+                .message(message)
+                .build();
+    }
+
+    private record Accepted(int index, Order order, String productName) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import com.example.orderup.entity.StockBucket;
+import com.example.orderup.event.ProductChangedEvent;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.StockBucketRepository;
+import com.example.orderup.repository.StockBucketView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads a hot product's stock over N bucket rows so concurrent orders lock
+ * different rows. An order starts at a random bucket and moves on to the next
+ * when one cannot cover it; only when no single bucket can does it lock them
+ * all and take the quantity across several. Products with one bucket are
+ * decremented in place, like {@link ConditionalUpdateStockStrategy}. Orders
+ * that deadlock across buckets are retried by {@code LockRetryAspect}.
+ *
+ * <p>Stock lands on the product row (create, update) and is moved into the
+ * buckets by the next order. Lock order is always product row, then buckets.
+ */
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "bucketed")
+public class BucketedStockStrategy implements StockStrategy {
+
+    private final ProductRepository productRepository;
+    private final StockBucketRepository stockBucketRepository;
+    private final int defaultBuckets;
+
+    public BucketedStockStrategy(ProductRepository productRepository,
+                                 StockBucketRepository stockBucketRepository,
+                                 @Value("${orderup.stock-buckets.default-count:1}") int defaultBuckets) {
+        this.productRepository = productRepository;
+        this.stockBucketRepository = stockBucketRepository;
+        this.defaultBuckets = defaultBuckets;
+    }
+
+    @Override
+    public StockAllocation allocate(Long productId, int quantity) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found: " + productId));
+        int buckets = bucketCount(product);
+
+        if (buckets <= 1) {
+            if (productRepository.decrementStockIfAvailable(productId, quantity) == 0) {
+                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+            }
+            return new StockAllocation(product, product.getName(), product.getStock() - quantity);
+        }
+
+        if (product.getStock() > 0) {
+            split(productId, product.getStock(), buckets);
+        }
+
+        // Unlocked read: stock only goes down between restocks, so this total
+        // bounds what is left and steers attempts away from empty buckets
+        List<StockBucketView> views = stockBucketRepository.findViewsByProductId(productId);
+        int available = views.stream().mapToInt(StockBucketView::stock).sum();
+        if (available < quantity) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            StockBucketView view = views.get((start + i) % views.size());
+            if (view.stock() >= quantity
+                    && stockBucketRepository.decrementIfAvailable(productId, view.bucketIndex(), quantity) == 1) {
+                return new StockAllocation(product, product.getName(), available - quantity);
+            }
+        }
+        return allocateAcrossBuckets(product, quantity);
+    }
+
+    /** Released stock goes back on the product row; the next order moves it into the buckets. */
+    @Override
+    public void release(Long productId, int quantity) {
+        productRepository.adjustStock(productId, quantity);
+    }
+
+    int bucketCount(Product product) {
+        return product.getStockBuckets() != null ? product.getStockBuckets() : defaultBuckets;
+    }
+
+    /** Moves {@code stock} units from the product row into its buckets, creating missing ones. */
+    void split(Long productId, int stock, int buckets) {
+        if (productRepository.takeStock(productId, stock) == 0) {
+            return; // another order split it first, or the product was updated
+        }
+
+        Set<Integer> existing = new HashSet<>();
+        stockBucketRepository.findViewsByProductId(productId).forEach(b -> existing.add(b.bucketIndex()));
+        int count = Math.max(buckets, existing.size());
+        for (int index = 0; index < count; index++) {
+            int share = stock / count + (index < stock % count ? 1 : 0);
+            if (existing.contains(index)) {
+                stockBucketRepository.adjust(productId, index, share);
+            } else {
+                stockBucketRepository.save(StockBucket.builder().productId(productId).bucketIndex(index).stock(share).build());
+            }
+        }
+    }
+
+    private StockAllocation allocateAcrossBuckets(Product product, int quantity) {
+        Long productId = product.getId();
+        stockBucketRepository.lockAll(productId);
+        List<StockBucketView> views = stockBucketRepository.findViewsByProductId(productId);
+
+        int available = views.stream().mapToInt(StockBucketView::stock).sum();
+        if (available < quantity) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        }
+
+        int needed = quantity;
+        for (StockBucketView view : views) {
+            int take = Math.min(needed, view.stock());
+            if (take > 0) {
+                stockBucketRepository.adjust(productId, view.bucketIndex(), -take);
+                needed -= take;
+            }
+        }
+        return new StockAllocation(product, product.getName(), available - quantity);
+    }
+
+    /**
+     * Product updates set an absolute stock on the product row, so the old
+     * buckets are dropped in the same transaction. The product row is flushed
+     * first so its lock is taken before the bucket locks.
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        productRepository.flush();
+        stockBucketRepository.deleteByProductId(event.getProductId());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.orderup.service;
+
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ProductView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks and decrements stock in one {@code UPDATE ... WHERE stock >= :quantity},
+ * which takes the row lock and holds it until the order insert commits. The
+ * update is wrapped in {@code SELECT ... FROM FINAL TABLE}, so the same round
+ * trip returns the name and the stock this order leaves behind; only a
+ * rejected update reads the row again, to tell an unknown product from a
+ * sold-out one.
+ */
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "conditional-update")
+@RequiredArgsConstructor
+public class ConditionalUpdateStockStrategy implements StockStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public StockAllocation allocate(Long productId, int quantity) {
+        ProductView after = productRepository.decrementStockReturning(productId, quantity).orElse(null);
+        if (after == null) {
+            ProductView product = productRepository.findRowViewById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found: " + productId));
+            throw new InsufficientStockException("Insufficient stock for product: " + product.name());
+        }
+
+        return new StockAllocation(productRepository.getReferenceById(productId), after.name(), after.stock());
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        productRepository.adjustStock(productId, quantity);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.orderup.service;
+
+import com.example.orderup.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many threads may hold a database transaction at once, sized to the
+ * connection pool. The transaction manager takes a permit right before it
+ * opens a physical transaction and gives it back when that transaction
+ * completes, so every path to a connection is covered: service methods,
+ * {@code TransactionTemplate} work and repository calls alike. Nested and
+ * {@code REQUIRES_NEW} transactions on a thread that already holds a permit
+ * pass through.
+ *
+ * <p>With virtual threads there is no request thread pool to bound
+ * concurrency, so without this every request would queue inside Hikari. Here
+ * request threads wait on a fair semaphore holding nothing and give up with a
+ * 503 after {@code acquire-timeout-ms}. Work off the request path (the async
+ * order writer, scheduled jobs) has already been accepted and would only fail
+ * it, so it waits for a permit without a timeout.
+ *
+ * <p>When read-only transactions run on their own replica pool,
+ * {@code orderup.db.read-max-concurrency} gives them separate permits so
+ * reads never queue behind writes; at {@code 0} they share the write permits.
+ */
+public class ConnectionPermits {
+
+    private final Semaphore permits;
+    private final Semaphore readPermits;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+    private final ThreadLocal<Held> held = new ThreadLocal<>();
+    private final ThreadLocal<long[]> begun = ThreadLocal.withInitial(() -> new long[1]);
+
+    public ConnectionPermits(MeterRegistry meterRegistry, int maxConcurrency, int readMaxConcurrency, long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.readPermits = readMaxConcurrency > 0 ? new Semaphore(readMaxConcurrency, true) : permits;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        Gauge.builder("orderup.db.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database permit")
+                .register(meterRegistry);
+        Gauge.builder("orderup.db.permits.available", permits, Semaphore::availablePermits)
+                .description("Unused database permits")
+                .register(meterRegistry);
+        if (readPermits != permits) {
+            Gauge.builder("orderup.db.read-permits.available", readPermits, Semaphore::availablePermits)
+                    .description("Unused database permits for read-only calls")
+                    .register(meterRegistry);
+        }
+        this.rejected = Counter.builder("orderup.db.permits.rejected")
+                .description("Requests that timed out waiting for a database permit")
+                .register(meterRegistry);
+    }
+
+    /** Called before a physical transaction begins; pair with {@link #release}. */
+    public void acquire(boolean readOnly) {
+        begun.get()[0]++;
+        Held current = held.get();
+        if (current != null) {
+            current.depth++;
+            return;
+        }
+        Semaphore semaphore = readOnly ? readPermits : permits;
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            if (!tryAcquire(semaphore)) {
+                rejected.increment();
+                throw new ServiceBusyException("Too many concurrent database requests, retry later");
+            }
+        } else {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("Interrupted waiting for a database permit");
+            }
+        }
+        held.set(new Held(semaphore));
+    }
+
+    /** Transactions this thread has begun so far; only the difference between two reads means anything. */
+    public long transactionsBegun() {
+        return begun.get()[0];
+    }
+
+    /** Called once the physical transaction has completed. */
+    public void release() {
+        Held current = held.get();
+        if (current == null) {
+            return;
+        }
+        if (--current.depth == 0) {
+            held.remove();
+            current.semaphore.release();
+        }
+    }
+
+    private boolean tryAcquire(Semaphore semaphore) {
+        try {
+            return semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Held {
+        private final Semaphore semaphore;
+        private int depth = 1;
+
+        Held(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.ThrottledCustomer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket per customer name, kept in memory only. Buckets live in
+ * {@code stripes} access-ordered maps, each behind its own lock, so customers
+ * on different stripes never contend. Each stripe holds at most
+ * {@code max-customers / stripes} buckets and drops its least recently used one
+ * beyond that. {@link #sweep} drops buckets idle for {@code idle-ttl-ms}, but
+ * only once they would have refilled anyway, so expiry never hands a customer
+ * more than a full burst.
+ *
+ * <p>Names are matched trimmed and case-insensitively. Per-customer limits come
+ * from {@code orderup.rate-limit.overrides} as {@code name:rate:burst} entries
+ * separated by commas; everyone else gets {@code rate-per-second} and {@code burst}.
+ *
+ * <p>{@link #admit} is the check every order path goes through: single orders,
+ * async submissions and reservations via {@code CustomerRateLimitAspect}, and
+ * each item of a batch. It admits everything when {@code enabled} is off.
+ */
+@Component
+public class CustomerRateLimiter {
+
+    /** Rough heap cost of one tracked customer besides its name: map entry, key String and bucket. */
+    static final int ENTRY_OVERHEAD_BYTES = 136;
+
+    private final boolean enabled;
+    private final Counter throttled;
+    private final Limit defaultLimit;
+    private final Map<String, Limit> overrides;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long idleTtlNanos;
+
+    public CustomerRateLimiter(MeterRegistry meterRegistry,
+                               @Value("${orderup.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${orderup.rate-limit.rate-per-second:10}") double ratePerSecond,
+                               @Value("${orderup.rate-limit.burst:20}") int burst,
+                               @Value("${orderup.rate-limit.overrides:}") String overrides,
+                               @Value("${orderup.rate-limit.stripes:64}") int stripes,
+                               @Value("${orderup.rate-limit.max-customers:100000}") int maxCustomers,
+                               @Value("${orderup.rate-limit.idle-ttl-ms:600000}") long idleTtlMs) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("orderup.rate-limit.stripes must be a power of two");
+        }
+        this.enabled = enabled;
+        this.defaultLimit = new Limit(ratePerSecond, burst);
+        this.overrides = parseOverrides(overrides);
+        this.stripes = new Stripe[stripes];
+        int perStripe = Math.max(1, maxCustomers / stripes);
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(perStripe);
+        }
+        this.mask = stripes - 1;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMs);
+        Gauge.builder("orderup.ratelimit.customers", this, CustomerRateLimiter::trackedCustomers)
+                .description("Customers with a token bucket in memory")
+                .register(meterRegistry);
+        Gauge.builder("orderup.ratelimit.memory", this, CustomerRateLimiter::estimatedBytes)
+                .description("Estimated heap held by customer token buckets")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("orderup.ratelimit.throttled")
+                .description("Orders turned away by the per-customer rate limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for one order unless the limit is disabled. Returns
+     * {@code 0} when the order may go ahead, otherwise how many nanoseconds
+     * until a token is due, and counts it as throttled.
+     */
+    public long admit(String customerName) {
+        if (!enabled) {
+            return 0;
+        }
+        long waitNanos = tryAcquire(customerName, System.nanoTime());
+        if (waitNanos > 0) {
+            throttled.increment();
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Takes one token from the customer's bucket. Returns {@code 0} when the
+     * request may go ahead, otherwise how many nanoseconds until a token is due.
+     */
+    public long tryAcquire(String customerName, long nowNanos) {
+        String key = normalize(customerName);
+        Limit limit = overrides.getOrDefault(key, defaultLimit);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit, nowNanos);
+                stripe.buckets.put(key, bucket);
+                stripe.keyChars += key.length();
+            }
+            return bucket.take(nowNanos);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(System.nanoTime());
+    }
+
+    /** Drops buckets idle for the TTL that have also refilled to their burst. */
+    public int sweep(long nowNanos) {
+        int dropped = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Map.Entry<String, Bucket>> it = stripe.buckets.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, Bucket> entry = it.next();
+                    if (entry.getValue().expired(nowNanos, idleTtlNanos)) {
+                        stripe.keyChars -= entry.getKey().length();
+                        it.remove();
+                        dropped++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return dropped;
+    }
+
+    public int trackedCustomers() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.buckets.size();
+        }
+        return total;
+    }
+
+    /** Estimated heap held by the buckets and their keys. */
+    public long estimatedBytes() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += (long) stripe.buckets.size() * ENTRY_OVERHEAD_BYTES + stripe.keyChars;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    /** Tracked customers with the most throttled requests, most throttled first. */
+    public List<ThrottledCustomer> topThrottled(int limit) {
+        List<ThrottledCustomer> throttled = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.buckets.forEach((name, bucket) -> {
+                    if (bucket.throttled > 0) {
+                        throttled.add(ThrottledCustomer.builder()
+                                .customerName(name)
+                                .throttled(bucket.throttled)
+                                .ratePerSecond(bucket.limit.ratePerSecond)
+                                .burst(bucket.limit.burst)
+                                .build());
+                    }
+                });
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        throttled.sort(Comparator.comparingLong(ThrottledCustomer::getThrottled).reversed());
+        return throttled.size() > limit ? new ArrayList<>(throttled.subList(0, limit)) : throttled;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static String normalize(String customerName) {
+        return customerName == null ? "" : customerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Map<String, Limit> parseOverrides(String overrides) {
+        Map<String, Limit> parsed = new HashMap<>();
+        if (overrides == null || overrides.isBlank()) {
+            return parsed;
+        }
+        for (String entry : overrides.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Rate limit override must be name:rate:burst, got: " + entry);
+            }
+            parsed.put(normalize(parts[0]), new Limit(Double.parseDouble(parts[1].trim()), Integer.parseInt(parts[2].trim())));
+        }
+        return parsed;
+    }
+
+    static final class Limit {
+        private final double ratePerSecond;
+        private final int burst;
+        private final double tokensPerNano;
+        private final long refillNanos;
+
+        Limit(double ratePerSecond, int burst) {
+            if (ratePerSecond < 0 || burst < 0) {
+                throw new IllegalArgumentException("Rate limit rate and burst must not be negative");
+            }
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+            this.refillNanos = ratePerSecond == 0 ? Long.MAX_VALUE : (long) Math.ceil(burst / tokensPerNano);
+        }
+    }
+
+    private static final class Bucket {
+        private final Limit limit;
+        private double tokens;
+        private long lastNanos;
+        private long throttled;
+
+        Bucket(Limit limit, long nowNanos) {
+            this.limit = limit;
+            this.tokens = limit.burst;
+            this.lastNanos = nowNanos;
+        }
+
+        long take(long nowNanos) {
+            long elapsed = nowNanos - lastNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(limit.burst, tokens + elapsed * limit.tokensPerNano);
+                lastNanos = nowNanos;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            throttled++;
+            return limit.tokensPerNano == 0 ? Long.MAX_VALUE : Math.max(1, (long) Math.ceil((1 - tokens) / limit.tokensPerNano));
+        }
+
+        boolean expired(long nowNanos, long idleTtlNanos) {
+            long idle = nowNanos - lastNanos;
+            return idle >= idleTtlNanos && idle >= limit.refillNanos;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets;
+        private long keyChars;
+
+        Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    if (size() > maxEntries) {
+                        keyChars -= eldest.getKey().length();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+
+public interface IdempotencyService {
+
+    /**
+     * Places the order at most once per key and returns the first outcome to
+     * every retry. Concurrent requests with the same key wait for the first.
+     */
+    OrderResponse placeOrder(String idempotencyKey, OrderRequest request);
+}
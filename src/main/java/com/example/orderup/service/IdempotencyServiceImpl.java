@@ -0,0 +1,145 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.entity.IdempotencyRecord;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.exception.ServiceBusyException;
+import com.example.orderup.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keys map to the first request and a future of its response in a bounded,
+ * expiring in-memory map; the first request for a key completes the future
+ * and every duplicate joins it. Completed responses are also written to the
+ * {@code idempotency_keys} table with the order itself. A key missing from the
+ * map, after a restart or eviction, is looked up in the table before the order
+ * is placed, so a retry replays the stored response without taking stock or
+ * locks. Two first requests racing past that lookup are settled by the primary
+ * key: the loser's order rolls back and it returns the winner's response.
+ * A key reused for a different product, quantity or customer is rejected.
+ * Failures are not remembered, so a rejected order can be retried with the same key.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ConcurrentMap<String, Attempt> attempts;
+    private final long ttlMs;
+    private final long waitTimeoutMs;
+
+    public IdempotencyServiceImpl(OrderService orderService,
+                                  IdempotencyRecordRepository idempotencyRecordRepository,
+                                  @Value("${orderup.idempotency.max-entries:100000}") long maxEntries,
+                                  @Value("${orderup.idempotency.ttl-ms:86400000}") long ttlMs,
+                                  @Value("${orderup.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttlMs = ttlMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .<String, Attempt>build()
+                .asMap();
+    }
+
+    @Override
+    public OrderResponse placeOrder(String idempotencyKey, OrderRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            throw new InvalidRequestException("Idempotency-Key must be between 1 and 255 characters");
+        }
+
+        Attempt mine = new Attempt(request.getProductId(), request.getQuantity(), request.getCustomerName(),
+                new CompletableFuture<>());
+        Attempt first = attempts.putIfAbsent(idempotencyKey, mine);
+        if (first != null) {
+            // A misused key is rejected straight away, not after the first attempt settles
+            checkSameRequest(first.productId(), first.quantity(), first.customerName(), request);
+            return await(first.response());
+        }
+
+        try {
+            OrderResponse response = idempotencyRecordRepository.findById(idempotencyKey)
+                    .map(record -> replay(record, request))
+                    .orElseGet(() -> placeAndRecord(idempotencyKey, request));
+            mine.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            attempts.remove(idempotencyKey, mine);
+            mine.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyRecordRepository.deleteCreatedBefore(System.currentTimeMillis() - ttlMs);
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private OrderResponse placeAndRecord(String idempotencyKey, OrderRequest request) {
+        try {
+            return orderService.placeOrder(request, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            // Committed by an earlier request whose in-memory entry is gone; the order just placed was rolled back
+            return idempotencyRecordRepository.findById(idempotencyKey)
+                    .map(record -> replay(record, request))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private OrderResponse await(CompletableFuture<OrderResponse> first) {
+        try {
+            return first.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("A request with this Idempotency-Key is still in progress, retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted waiting for a request with the same Idempotency-Key");
+        }
+    }
+
+    private OrderResponse replay(IdempotencyRecord record, OrderRequest request) {
+        checkSameRequest(record.getProductId(), record.getQuantity(), record.getCustomerName(), request);
+        return OrderResponse.builder()
+                .orderId(record.getOrderId())
+                .productId(record.getProductId())
+                .productName(record.getProductName())
+                .quantity(record.getQuantity())
+                .message(record.getMessage())
+                .build();
+    }
+
+    private void checkSameRequest(Long productId, int quantity, String customerName, OrderRequest request) {
+        if (!productId.equals(request.getProductId()) || quantity != request.getQuantity()
+                || !Objects.equals(customerName, request.getCustomerName())) {
+            throw new InvalidRequestException("Idempotency-Key was already used for a different order");
+        }
+    }
+
+    private record Attempt(Long productId, int quantity, String customerName, CompletableFuture<OrderResponse> response) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.orderup.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "in-memory")
+@RequiredArgsConstructor
+public class InMemoryStockStrategy implements StockStrategy {
+
+    private final StockEngine stockEngine;
+
+    @Override
+    public StockAllocation allocate(Long productId, int quantity) {
+        return stockEngine.reserve(productId, quantity);
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        stockEngine.release(productId, quantity);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orderup.service;
+
+/**
+ * An accepted order as written to the {@link OrderJournal}. {@code endPosition}
+ * is the journal position just after the record; it is only set on entries
+ * read back from the journal.
+ */
+public record JournalEntry(long endPosition, long orderId, long productId, String customerName, int quantity,
+                           long acceptedAt) {
+
+    public JournalEntry(long orderId, long productId, String customerName, int quantity, long acceptedAt) {
+        this(-1, orderId, productId, customerName, quantity, acceptedAt);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.JournalCheckpoint;
+import com.example.orderup.repository.JournalCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copies journaled orders into {@code orders} in batches. Each batch and the
+ * checkpoint it advances commit together, so no order is projected twice.
+ * On startup the tail after the checkpoint is replayed before the first
+ * request; afterwards segments behind the checkpoint are deleted.
+ *
+ * <p>Only records before {@link OrderJournal#stablePosition} are read, so a
+ * transaction still running holds projection back. A record is projected only
+ * if its order's outbox row exists: that row commits with the stock, so a
+ * record whose transaction rolled back, or never committed before a crash, is
+ * dropped. Orders for a product deleted before projection are dropped too.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderup.journal.enabled", havingValue = "true")
+public class JournalProjector {
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO orders (id, product_id, customer_name, quantity)
+            SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM product WHERE id = ?)
+            AND EXISTS (SELECT 1 FROM outbox_events WHERE order_id = ?)""";
+
+    private final OrderJournal journal;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public JournalProjector(OrderJournal journal,
+                            JournalCheckpointRepository checkpointRepository,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${orderup.journal.projection-batch-size:500}") int batchSize) {
+        this.journal = journal;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void replay() {
+        JournalCheckpoint checkpoint = checkpoint();
+        journal.ensureIdsAbove(checkpoint.getHighestOrderId());
+        if (checkpoint.getPosition() > journal.endPosition()) {
+            // The journal directory was replaced; everything in it is unprojected
+            log.warn("Journal checkpoint {} is past the journal end {}, projecting from {}",
+                    checkpoint.getPosition(), journal.endPosition(), journal.startPosition());
+            checkpoint.setPosition(journal.startPosition());
+            checkpointRepository.save(checkpoint);
+        }
+
+        int replayed = projectPending();
+        if (replayed > 0) {
+            log.info("Replayed {} journaled orders into the orders table", replayed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.journal.projection-interval-ms:50}")
+    public void project() {
+        try {
+            projectPending();
+        } catch (RuntimeException e) {
+            log.warn("Journal projection failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    /** Projects until the checkpoint reaches the journal end and returns the number of records copied. */
+    public int projectPending() {
+        lock.lock();
+        try {
+            int projected = 0;
+            int batch;
+            do {
+                batch = projectBatch();
+                projected += batch;
+            } while (batch == batchSize);
+
+            journal.deleteSegmentsBefore(checkpoint().getPosition());
+            return projected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int projectBatch() {
+        Integer projected = transactionTemplate.execute(status -> {
+            JournalCheckpoint checkpoint = checkpoint();
+            long stable = journal.stablePosition();
+            List<JournalEntry> entries = journal.read(checkpoint.getPosition(), batchSize).stream()
+                    .takeWhile(entry -> entry.endPosition() <= stable)
+                    .toList();
+            if (entries.isEmpty()) {
+                return 0;
+            }
+
+            int[][] inserted = jdbcTemplate.batchUpdate(INSERT_ORDER, entries, entries.size(), (ps, entry) -> {
+                ps.setLong(1, entry.orderId());
+                ps.setLong(2, entry.productId());
+                ps.setString(3, entry.customerName());
+                ps.setInt(4, entry.quantity());
+                ps.setLong(5, entry.productId());
+                ps.setLong(6, entry.orderId());
+            });
+            long dropped = Arrays.stream(inserted).flatMapToInt(Arrays::stream).filter(n -> n == 0).count();
+            if (dropped > 0) {
+                log.warn("Dropped {} journaled orders that rolled back or whose product no longer exists", dropped);
+            }
+
+            JournalEntry last = entries.get(entries.size() - 1);
+            checkpoint.setPosition(last.endPosition());
+            checkpoint.setHighestOrderId(Math.max(checkpoint.getHighestOrderId(),
+                    entries.stream().mapToLong(JournalEntry::orderId).max().orElse(0)));
+            checkpointRepository.save(checkpoint);
+            return entries.size();
+        });
+        return projected != null ? projected : 0;
+    }
+
+    public JournalCheckpoint checkpoint() {
+        return checkpointRepository.findById(JournalCheckpoint.ID)
+                .orElseGet(() -> JournalCheckpoint.builder()
+                        .id(JournalCheckpoint.ID)
+                        .position(journal.startPosition())
+                        .build());
+    }
+}
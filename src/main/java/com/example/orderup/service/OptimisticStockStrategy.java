@@ -0,0 +1,43 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the product without a lock and relies on its {@code @Version} column to
+ * detect a concurrent decrement at flush time. Conflicts surface as
+ * {@link org.springframework.dao.OptimisticLockingFailureException} and are
+ * retried by {@link com.example.orderup.aspect.OptimisticRetryAspect}.
+ */
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "optimistic")
+@RequiredArgsConstructor
+public class OptimisticStockStrategy implements StockStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public StockAllocation allocate(Long productId, int quantity) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found: " + productId));
+
+        if (product.getStock() < quantity) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        }
+
+        product.setStock(product.getStock() - quantity);
+        productRepository.saveAndFlush(product);
+
+        return new StockAllocation(product, product.getName(), product.getStock());
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        productRepository.adjustStock(productId, quantity);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orderup.service;
+
+import com.example.orderup.event.OrderPlacedEvent;
+
+import java.util.List;
+
+public interface OrderEventService {
+
+    /**
+     * Returns up to {@code limit} events with an offset above {@code after},
+     * waiting up to {@code waitMs} for one to arrive when there are none yet.
+     */
+    List<OrderPlacedEvent> poll(long after, int limit, long waitMs);
+}
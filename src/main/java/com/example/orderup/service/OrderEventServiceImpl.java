@@ -0,0 +1,56 @@
+package com.example.orderup.service;
+
+import com.example.orderup.event.OrderPlacedEvent;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Long-poll reads of the order event stream. Only offsets up to the relay's
+ * head are returned, so a consumer that resumes from its last offset never
+ * misses an event that committed out of order.
+ */
+@Service
+public class OrderEventServiceImpl implements OrderEventService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final long maxWaitMs;
+
+    public OrderEventServiceImpl(OutboxEventRepository outboxEventRepository,
+                                 OutboxRelay outboxRelay,
+                                 @Value("${orderup.outbox.max-wait-ms:25000}") long maxWaitMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelay = outboxRelay;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Override
+    public List<OrderPlacedEvent> poll(long after, int limit, long waitMs) {
+        Cursors.checkLimit(limit);
+        if (after < 0) {
+            throw new InvalidRequestException("after must not be negative");
+        }
+        if (waitMs < 0 || waitMs > maxWaitMs) {
+            throw new InvalidRequestException("waitMs must be between 0 and " + maxWaitMs);
+        }
+
+        long head;
+        try {
+            head = outboxRelay.awaitAfter(after, waitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+        if (head <= after) {
+            return List.of();
+        }
+        return outboxEventRepository.findBetween(after, head, Limit.of(limit)).stream()
+                .map(OrderPlacedEvent::from)
+                .toList();
+    }
+}
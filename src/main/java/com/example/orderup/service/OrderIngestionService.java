@@ -0,0 +1,11 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderTicketResponse;
+
+public interface OrderIngestionService {
+
+    OrderTicketResponse submit(OrderRequest request);
+
+    OrderTicketResponse getTicket(String ticketId);
+}
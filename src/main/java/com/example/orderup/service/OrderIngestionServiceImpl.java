@@ -0,0 +1,234 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.BatchOrderItemResult;
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderTicketResponse;
+import com.example.orderup.dto.OrderTicketStatus;
+import com.example.orderup.exception.OrderQueueFullException;
+import com.example.orderup.exception.TicketNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts orders into a bounded queue and settles them shortly after on a
+ * single writer thread. The writer drains up to {@code max-batch-size} tickets,
+ * lingering briefly for stragglers, and places them through
+ * {@link BatchOrderService} so each drain is one transaction (group commit).
+ * Tickets were charged against the customer rate limit on {@code submit}, so
+ * the drain does not charge them again.
+ */
+@Slf4j
+@Service
+public class OrderIngestionServiceImpl implements OrderIngestionService, SmartLifecycle {
+
+    private final BatchOrderService batchOrderService;
+    private final BlockingQueue<Ticket> queue;
+    private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long ticketTtlMs;
+    private final DistributionSummary batchSize;
+    private final Timer commitLatency;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIngestionServiceImpl(BatchOrderService batchOrderService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${orderup.async.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${orderup.async.max-batch-size:200}") int maxBatchSize,
+                                     @Value("${orderup.batch.max-size:1000}") int batchServiceMaxSize,
+                                     @Value("${orderup.async.linger-ms:2}") long lingerMs,
+                                     @Value("${orderup.async.ticket-ttl-ms:600000}") long ticketTtlMs) {
+        if (maxBatchSize < 1 || maxBatchSize > batchServiceMaxSize) {
+            // A larger drain would be refused whole by the batch service, failing tickets already accepted
+            throw new IllegalArgumentException("orderup.async.max-batch-size must be between 1 and orderup.batch.max-size ("
+                    + batchServiceMaxSize + ")");
+        }
+        this.batchOrderService = batchOrderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.ticketTtlMs = ticketTtlMs;
+
+        Gauge.builder("orderup.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Orders accepted but not yet committed")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("orderup.ingest.batch.size")
+                .description("Orders committed per group commit")
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("orderup.ingest.commit.latency")
+                .description("Time to commit one group of orders")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OrderTicketResponse submit(OrderRequest request) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), request);
+        tickets.put(ticket.id, ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.id);
+            throw new OrderQueueFullException("Order queue is full, retry later");
+        }
+        return ticket.toResponse();
+    }
+
+    @Override
+    public OrderTicketResponse getTicket(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new TicketNotFoundException("Ticket not found: " + ticketId);
+        }
+        return ticket.toResponse();
+    }
+
+    int writeNextBatch(long pollMs) throws InterruptedException {
+        Ticket first = queue.poll(pollMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+
+        List<Ticket> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        queue.drainTo(batch, maxBatchSize - 1);
+
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            Ticket next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+
+        commit(batch);
+        return batch.size();
+    }
+
+    private void commit(List<Ticket> batch) {
+        long start = System.nanoTime();
+        try {
+            BatchOrderResponse response = batchOrderService.placeAdmittedOrders(batch.stream().map(t -> t.request).toList());
+            List<BatchOrderItemResult> results = response.getResults();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} orders failed: {}", batch.size(), e.getMessage());
+            batch.forEach(t -> t.fail(e.getMessage()));
+        } finally {
+            batchSize.record(batch.size());
+            commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.async.purge-interval-ms:60000}")
+    public void purgeExpiredTickets() {
+        long cutoff = System.currentTimeMillis() - ticketTtlMs;
+        tickets.values().removeIf(t -> t.status != OrderTicketStatus.QUEUED && t.completedAt < cutoff);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "order-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server so requests already accepted are drained
+     * while the datasource is still open.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            try {
+                writeNextBatch(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order ingest writer failed", e);
+            }
+        }
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final OrderRequest request;
+        private volatile OrderTicketStatus status = OrderTicketStatus.QUEUED;
+        private volatile BatchOrderItemResult result;
+        private volatile String message = "Order accepted for processing";
+        private volatile long completedAt;
+
+        private Ticket(String id, OrderRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        private void complete(BatchOrderItemResult result) {
+            this.result = result;
+            this.message = result.getMessage();
+            this.completedAt = System.currentTimeMillis();
+            this.status = result.isSuccess() ? OrderTicketStatus.COMPLETED : OrderTicketStatus.FAILED;
+        }
+
+        private void fail(String message) {
+            this.message = message;
+            this.completedAt = System.currentTimeMillis();
+            this.status = OrderTicketStatus.FAILED;
+        }
+
+        private OrderTicketResponse toResponse() {
+            OrderTicketStatus s = status;
+            BatchOrderItemResult r = result;
+            return OrderTicketResponse.builder()
+                    .ticketId(id)
+                    .status(s)
+                    .orderId(r != null ? r.getOrderId() : null)
+                    .productId(request.getProductId())
+                    .productName(r != null ? r.getProductName() : null)
+                    .quantity(request.getQuantity())
+                    .message(message)
+                    .build();
+        }
+    }
+}
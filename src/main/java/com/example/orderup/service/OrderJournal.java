@@ -0,0 +1,420 @@
+package com.example.orderup.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of accepted orders, written to memory-mapped segment files
+ * of {@code segmentBytes} each. A record is {@code [length][crc32c][payload]};
+ * a zero length marks the end of the written part of a segment, so the length
+ * is written last. Positions are byte offsets across the whole journal and a
+ * segment file is named after the position it starts at.
+ *
+ * <p>On open every segment is scanned; a torn record at the tail of the last
+ * segment is zeroed out. How often the mapped pages are forced to disk is set
+ * by {@link FsyncPolicy}. Segments are deleted once {@link JournalProjector}
+ * has copied them into {@code orders}.
+ *
+ * <p>Order IDs are handed out from {@code orderup.journal.id-base} upwards, a
+ * range the {@code orders_seq} sequence does not reach.
+ *
+ * <p>Orders are appended inside their stock transaction, just before it
+ * commits. Until that transaction completes the record lies past
+ * {@link #stablePosition} and is not projected; a record whose transaction
+ * rolled back stays in the journal, but its outbox row never committed and
+ * the projector drops it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderup.journal.enabled", havingValue = "true")
+public class OrderJournal {
+
+    public enum FsyncPolicy {
+        /** Force every record before the order is answered. */
+        ALWAYS,
+        /** Force every {@code fsync-interval-ms}; a power loss can drop that window. */
+        INTERVAL,
+        /** Force once every {@code fsync-records} records. */
+        RECORDS
+    }
+
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 28;
+    private static final String SUFFIX = ".journal";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final int fsyncRecords;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong nextOrderId;
+    private final TreeSet<Long> uncommitted = new TreeSet<>();
+    private Segment active;
+    private int unsynced;
+
+    public OrderJournal(@Value("${orderup.journal.dir:data/journal}") String dir,
+                        @Value("${orderup.journal.segment-bytes:67108864}") int segmentBytes,
+                        @Value("${orderup.journal.fsync:interval}") String fsyncPolicy,
+                        @Value("${orderup.journal.fsync-records:100}") int fsyncRecords,
+                        @Value("${orderup.journal.id-base:1000000000000}") long idBase) {
+        this.dir = Path.of(dir);
+        this.segmentBytes = segmentBytes;
+        this.fsyncPolicy = FsyncPolicy.valueOf(fsyncPolicy.trim().toUpperCase(Locale.ROOT));
+        this.fsyncRecords = fsyncRecords;
+        this.nextOrderId = new AtomicLong(idBase);
+        open();
+    }
+
+    /** Takes the ID for an order about to be appended by its stock transaction. */
+    public long reserveId() {
+        return nextOrderId.getAndIncrement();
+    }
+
+    /** Makes sure IDs handed out from now on are above {@code orderId}, e.g. after segments were deleted. */
+    public void ensureIdsAbove(long orderId) {
+        nextOrderId.accumulateAndGet(orderId + 1, Math::max);
+    }
+
+    /**
+     * Appends within the surrounding transaction, so a failed append rolls the
+     * order back; call it after the transaction's last write. The record is
+     * held back from projection until the transaction completes.
+     */
+    public void appendBeforeCommit(JournalEntry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(entry);
+            return;
+        }
+        long start = write(entry, true) - recordBytes(entry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.lock();
+                try {
+                    uncommitted.remove(start);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    /** Writes one record and returns the journal position just after it. */
+    public long append(JournalEntry entry) {
+        return write(entry, false);
+    }
+
+    /** Position up to which every record's transaction has completed; the projector stops here. */
+    public long stablePosition() {
+        lock.lock();
+        try {
+            return uncommitted.isEmpty() ? active.start + active.writeOffset : uncommitted.first();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long write(JournalEntry entry, boolean inTransaction) {
+        byte[] name = entry.customerName().getBytes(StandardCharsets.UTF_8);
+        int payloadBytes = FIXED_PAYLOAD_BYTES + name.length;
+        int recordBytes = HEADER_BYTES + payloadBytes;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + recordBytes + " bytes exceeds the segment size");
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(payloadBytes)
+                .putLong(entry.orderId())
+                .putLong(entry.productId())
+                .putInt(entry.quantity())
+                .putLong(entry.acceptedAt())
+                .put(name);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array());
+
+        lock.lock();
+        try {
+            if (active.writeOffset + recordBytes > segmentBytes) {
+                roll();
+            }
+            long start = active.start + active.writeOffset;
+            int offset = active.writeOffset;
+            active.buffer.put(offset + HEADER_BYTES, payload.array());
+            active.buffer.putInt(offset + 4, (int) crc.getValue());
+            active.buffer.putInt(offset, payloadBytes);
+            active.writeOffset += recordBytes;
+            nextOrderId.accumulateAndGet(entry.orderId() + 1, Math::max);
+
+            unsynced++;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS
+                    || fsyncPolicy == FsyncPolicy.RECORDS && unsynced >= fsyncRecords) {
+                force();
+            }
+            if (inTransaction) {
+                uncommitted.add(start);
+            }
+            return active.start + active.writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int recordBytes(JournalEntry entry) {
+        return HEADER_BYTES + FIXED_PAYLOAD_BYTES + entry.customerName().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /** Reads up to {@code max} records starting at {@code position}; each carries the position after it. */
+    public List<JournalEntry> read(long position, int max) {
+        List<JournalEntry> entries = new ArrayList<>();
+        lock.lock();
+        try {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(position);
+            Segment segment = floor != null ? floor.getValue() : segments.firstEntry().getValue();
+            int offset = (int) Math.max(0, position - segment.start);
+            while (entries.size() < max) {
+                int length = offset + HEADER_BYTES <= segmentBytes && offset < segment.writeOffset
+                        ? segment.buffer.getInt(offset) : 0;
+                if (length == 0) {
+                    Map.Entry<Long, Segment> next = segments.higherEntry(segment.start);
+                    if (next == null) {
+                        break;
+                    }
+                    segment = next.getValue();
+                    offset = 0;
+                    continue;
+                }
+                entries.add(decode(segment, offset, length));
+                offset += HEADER_BYTES + length;
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Position just after the last record. */
+    public long endPosition() {
+        lock.lock();
+        try {
+            return active.start + active.writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Position of the oldest record still on disk. */
+    public long startPosition() {
+        lock.lock();
+        try {
+            return segments.firstKey();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Deletes every segment that ends at or before {@code position}; the active segment is kept. */
+    public int deleteSegmentsBefore(long position) {
+        int deleted = 0;
+        lock.lock();
+        try {
+            Iterator<Segment> it = segments.values().iterator();
+            while (it.hasNext()) {
+                Segment segment = it.next();
+                if (segment == active || segment.start + segmentBytes > position) {
+                    break;
+                }
+                segment.close();
+                Files.deleteIfExists(segment.path);
+                it.remove();
+                deleted++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete journal segment", e);
+        } finally {
+            lock.unlock();
+        }
+        return deleted;
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.journal.fsync-interval-ms:50}")
+    public void sync() {
+        if (fsyncPolicy != FsyncPolicy.INTERVAL) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (unsynced > 0) {
+                force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            force();
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                    String name = path.getFileName().toString();
+                    long start = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                    segments.put(start, Segment.map(path, start, segmentBytes));
+                }
+            }
+            if (segments.isEmpty()) {
+                segments.put(0L, Segment.map(segmentPath(0), 0, segmentBytes));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open order journal in " + dir, e);
+        }
+
+        for (Segment segment : segments.values()) {
+            recover(segment, segment == segments.lastEntry().getValue());
+        }
+        active = segments.lastEntry().getValue();
+        log.info("Opened order journal in {} at position {} with {} segment(s)", dir, endPosition(), segments.size());
+    }
+
+    private void recover(Segment segment, boolean last) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segmentBytes) {
+            int length = segment.buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (!valid(segment, offset, length)) {
+                if (!last) {
+                    throw new IllegalStateException("Corrupt journal record in " + segment.path + " at offset " + offset);
+                }
+                log.warn("Discarding torn journal tail in {} from offset {}", segment.path, offset);
+                segment.buffer.put(offset, new byte[segmentBytes - offset]);
+                segment.buffer.force();
+                break;
+            }
+            nextOrderId.accumulateAndGet(segment.buffer.getLong(offset + HEADER_BYTES) + 1, Math::max);
+            offset += HEADER_BYTES + length;
+        }
+        segment.writeOffset = offset;
+    }
+
+    private boolean valid(Segment segment, int offset, int length) {
+        if (length < FIXED_PAYLOAD_BYTES || offset + HEADER_BYTES + length > segmentBytes) {
+            return false;
+        }
+        byte[] payload = new byte[length];
+        segment.buffer.get(offset + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue() == segment.buffer.getInt(offset + 4);
+    }
+
+    private JournalEntry decode(Segment segment, int offset, int length) {
+        ByteBuffer payload = segment.buffer.slice(offset + HEADER_BYTES, length);
+        long orderId = payload.getLong();
+        long productId = payload.getLong();
+        int quantity = payload.getInt();
+        long acceptedAt = payload.getLong();
+        byte[] name = new byte[payload.remaining()];
+        payload.get(name);
+        long end = segment.start + offset + HEADER_BYTES + length;
+        return new JournalEntry(end, orderId, productId, new String(name, StandardCharsets.UTF_8), quantity, acceptedAt);
+    }
+
+    private void roll() {
+        force();
+        long start = active.start + segmentBytes;
+        try {
+            active = Segment.map(segmentPath(start), start, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment at position " + start, e);
+        }
+        segments.put(start, active);
+    }
+
+    private void force() {
+        active.buffer.force();
+        unsynced = 0;
+    }
+
+    private Path segmentPath(long start) {
+        return dir.resolve(String.format("%020d%s", start, SUFFIX));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long start;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        private Segment(Path path, long start, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.start = start;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment map(Path path, long start, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, start, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close journal segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.example.orderup.service;
 
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.OrderRequest;
 import com.example.orderup.dto.OrderResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
     OrderResponse placeOrder(OrderRequest request);
 
+    /**
+     * Places the order and records its response under {@code idempotencyKey}
+     * in the same transaction; a key that is already recorded fails the commit.
+     */
+    OrderResponse placeOrder(OrderRequest request, String idempotencyKey);
+
     OrderResponse getOrderById(Long id);
 
     List<OrderResponse> getAllOrders();
 
+    CursorPage<OrderResponse> getOrders(String after, int limit);
+
+    void streamAllOrders(Consumer<OrderResponse> sink);
+
     int getProductStock(Long productId);
 
 }
@@ -1,19 +1,33 @@
 package com.example.orderup.service;
 
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.OrderRequest;
 import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.event.StockChangedEvent;
 import com.example.orderup.exception.InsufficientStockException;
 import com.example.orderup.exception.OrderProcessingException;
 import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.entity.IdempotencyRecord;
 import com.example.orderup.entity.Order;
+import com.example.orderup.entity.OutboxEvent;
 import com.example.orderup.entity.Product;
+import com.example.orderup.repository.IdempotencyRecordRepository;
 import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OrderView;
+import com.example.orderup.repository.OutboxEventRepository;
 import com.example.orderup.repository.ProductRepository;
-import jakarta.transaction.Transactional;
+import com.example.orderup.repository.ProductView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,76 +35,138 @@ public class OrderServiceImpl implements OrderService {
 
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
-
-
+    private final StockStrategy stockStrategy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SoldOutRegistry soldOutRegistry;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectProvider<OrderJournal> orderJournal;
+    private final OutboxEventRepository outboxEventRepository;
 
     @Override
     @Transactional
     public OrderResponse placeOrder(OrderRequest request) {
-        try {
-            Product product = productRepository.findByIdForUpdate(request.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException("Product not found: " + request.getProductId()));
+        return doPlaceOrder(request, null);
+    }
 
-            if (product.getStock() < request.getQuantity()) {
-                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+    @Override
+    @Transactional
+    public OrderResponse placeOrder(OrderRequest request, String idempotencyKey) {
+        return doPlaceOrder(request, idempotencyKey);
+    }
+
+    private OrderResponse doPlaceOrder(OrderRequest request, String idempotencyKey) {
+        try {
+            long epoch = soldOutRegistry.epoch(request.getProductId());
+            StockAllocation allocation = stockStrategy.allocate(request.getProductId(), request.getQuantity());
+            eventPublisher.publishEvent(new StockChangedEvent(request.getProductId()));
+            if (allocation.getRemainingStock() <= 0) {
+                soldOutRegistry.markSoldOutAfterCommit(request.getProductId(), allocation.getProductName(), epoch);
             }
 
-            product.setStock(product.getStock() - request.getQuantity());
-            productRepository.save(product);
+            Long orderId;
+            OrderJournal journal = orderJournal.getIfAvailable();
+            if (journal != null) {
+                // Journal mode: the order row is written later by JournalProjector
+                orderId = journal.reserveId();
+            } else {
+                Order order = Order.builder()
+                        .customerName(request.getCustomerName())
+                        .quantity(request.getQuantity())
+                        .product(allocation.getProduct())
+                        .build();
+                orderId = orderRepository.save(order).getId();
+            }
 
-            Order order = Order.builder()
-                    .customerName(request.getCustomerName())
+            OrderResponse response = OrderResponse.builder()
+                    .orderId(orderId)
+                    .productId(allocation.getProduct().getId())
+                    .productName(allocation.getProductName())
                     .quantity(request.getQuantity())
-                    .product(product)
+                    .message("Order placed successfully")
                     .build();
 
-            Order savedOrder = orderRepository.save(order);
+            // Committed or rolled back with the order; OutboxRelay publishes it
+            outboxEventRepository.save(OutboxEvent.orderPlaced(orderId, response.getProductId(),
+                    response.getProductName(), request.getCustomerName(), request.getQuantity()));
+
+            if (idempotencyKey != null) {
+                idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                        .key(idempotencyKey)
+                        .orderId(response.getOrderId())
+                        .productId(response.getProductId())
+                        .productName(response.getProductName())
+                        .customerName(request.getCustomerName())
+                        .quantity(response.getQuantity())
+                        .message(response.getMessage())
+                        .createdAt(System.currentTimeMillis())
+                        .build());
+            }
 
-            return OrderResponse.builder()
-                    .orderId(savedOrder.getId())
-                    .productId(product.getId())
-                    .productName(product.getName())
-                    .quantity(savedOrder.getQuantity())
-                    .message("Order placed successfully")
-                    .build();
+            if (journal != null) {
+                // Last, so a failed append rolls back the stock and the rows above
+                journal.appendBeforeCommit(new JournalEntry(orderId, request.getProductId(),
+                        request.getCustomerName(), request.getQuantity(), System.currentTimeMillis()));
+            }
+            return response;
 
-        } catch (ProductNotFoundException | InsufficientStockException e) {
+        } catch (ProductNotFoundException | InsufficientStockException | OptimisticLockingFailureException e) {
             throw e;
         } catch (Exception e) {
             throw new OrderProcessingException("Failed to process order: " + e.getMessage(), e);
         }
     }
     @Override
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderRepository.findViewById(id)
+                .map(this::toResponse)
                 .orElseThrow(() -> new RuntimeException("Order not found with ID: " + id));
-
-        return OrderResponse.builder()
-                .orderId(order.getId())
-                .productId(order.getProduct().getId())
-                .productName(order.getProduct().getName())
-                .quantity(order.getQuantity())
-                .message("Order retrieved successfully")
-                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(order -> OrderResponse.builder()
-                        .orderId(order.getId())
-                        .productId(order.getProduct().getId())
-                        .productName(order.getProduct().getName())
-                        .quantity(order.getQuantity())
-                        .message("Order retrieved successfully")
-                        .build())
+        return orderRepository.findAllViews().stream()
+                .map(this::toResponse)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrders(String after, int limit) {
+        Cursors.checkLimit(limit);
+        List<OrderResponse> items = orderRepository.findPageAfter(Cursors.decode(after), Limit.of(limit)).stream()
+                .map(this::toResponse)
+                .toList();
+
+        return CursorPage.<OrderResponse>builder()
+                .items(items)
+                .nextCursor(items.size() == limit ? Cursors.encode(items.get(items.size() - 1).getOrderId()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderResponse> sink) {
+        try (Stream<OrderView> rows = orderRepository.streamAll()) {
+            rows.map(this::toResponse).forEach(sink);
+        }
+    }
+
+    private OrderResponse toResponse(OrderView view) {
+        return OrderResponse.builder()
+                .orderId(view.orderId())
+                .productId(view.productId())
+                .productName(view.productName())
+                .quantity(view.quantity())
+                .message("Order retrieved successfully")
+                .build();
+    }
+
     @Override
     public int getProductStock(Long productId) {
-        Product product = productRepository.findById(productId)
+        return productRepository.findViewById(productId)
+                .map(ProductView::stock)
                 .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
-        return product.getStock();
     }
 }
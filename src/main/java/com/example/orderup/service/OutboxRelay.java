@@ -0,0 +1,163 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.OutboxEvent;
+import com.example.orderup.event.OrderPlacedEvent;
+import com.example.orderup.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tails {@code outbox_events} and publishes each row as an
+ * {@link OrderPlacedEvent}. Rows become visible in commit order, not in ID
+ * order, so the relay is the one sequencer: each run stamps the rows it has
+ * not seen yet with the next offsets in one transaction and publishes them.
+ * A transaction that commits late simply gets a later offset; nothing is
+ * skipped and nothing waits on a timeout. A rolled-back order leaves no row.
+ *
+ * <p>On startup rows committed but not yet sequenced are picked up by the
+ * first run. Consumers that missed events resume from their own offset
+ * through {@link OrderEventService}. Offsets are unique in the table, so with
+ * several instances only one relay's stamping commits per row.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retentionMs;
+    private final boolean enabled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition advanced = lock.newCondition();
+    private final Timer lag;
+    private final DistributionSummary batchSizes;
+    private volatile long head;
+    private boolean resync;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${orderup.outbox.batch-size:500}") int batchSize,
+                       @Value("${orderup.outbox.retention-ms:604800000}") long retentionMs,
+                       @Value("${orderup.outbox.relay-enabled:true}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionMs = retentionMs;
+        this.enabled = enabled;
+        this.lag = Timer.builder("orderup.outbox.relay.lag")
+                .description("Time from an order event being written to the relay publishing it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("orderup.outbox.relay.batch.size")
+                .description("Events published per relay batch")
+                .register(meterRegistry);
+        Gauge.builder("orderup.outbox.relay.head", this, OutboxRelay::head)
+                .description("Highest offset published so far")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        head = outboxEventRepository.findMaxSeq();
+    }
+
+    /** Highest offset published so far; every lower offset has been published too. */
+    public long head() {
+        return head;
+    }
+
+    /** Waits up to {@code waitMs} for the head to move past {@code offset}; returns the head. */
+    public long awaitAfter(long offset, long waitMs) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(waitMs);
+        lock.lock();
+        try {
+            while (head <= offset && remaining > 0) {
+                remaining = advanced.awaitNanos(remaining);
+            }
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.outbox.poll-interval-ms:20}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying next run: {}", e.getMessage());
+            resync = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        int purged = outboxEventRepository.deleteCreatedBefore(System.currentTimeMillis() - retentionMs, head);
+        if (purged > 0) {
+            log.debug("Purged {} relayed outbox events", purged);
+        }
+    }
+
+    private int relayBatch() {
+        if (resync) {
+            // Another relay may have stamped the rows; carry on after its offsets
+            head = Math.max(head, outboxEventRepository.findMaxSeq());
+            resync = false;
+        }
+        List<OutboxEvent> rows = transactionTemplate.execute(status -> {
+            List<OutboxEvent> unsequenced = outboxEventRepository.findUnsequenced(Limit.of(batchSize));
+            long next = head;
+            for (OutboxEvent row : unsequenced) {
+                row.setSeq(++next);
+            }
+            return unsequenced;
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        for (OutboxEvent row : rows) {
+            eventPublisher.publishEvent(OrderPlacedEvent.from(row));
+            lag.record(Math.max(0, now - row.getCreatedAt()), TimeUnit.MILLISECONDS);
+        }
+        batchSizes.record(rows.size());
+        lock.lock();
+        try {
+            head = rows.get(rows.size() - 1).getSeq();
+            advanced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "pessimistic", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PessimisticStockStrategy implements StockStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public StockAllocation allocate(Long productId, int quantity) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found: " + productId));
+
+        if (product.getStock() < quantity) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        }
+
+        product.setStock(product.getStock() - quantity);
+        productRepository.save(product);
+
+        return new StockAllocation(product, product.getName(), product.getStock());
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        productRepository.adjustStock(productId, quantity);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.orderup.service;
+
+import com.example.orderup.event.ProductChangedEvent;
+import com.example.orderup.event.StockChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evicts cached product reads once a stock or product change is committed.
+ * Cached reads load with {@code sync = true}, so an eviction that races an
+ * in-flight load waits for it and then removes the possibly stale value. That
+ * only holds for a per-key evict: {@code clear()} maps to Caffeine's
+ * {@code invalidateAll}, which skips loads still in flight, so the list is
+ * evicted by its single key too.
+ *
+ * <p>With a read replica the miss after an eviction would be served from a
+ * replica that may not have the change yet, and the old stock would be cached
+ * for the full TTL. So each eviction also remembers when the product (and the
+ * list) last changed, and for {@code orderup.datasource.replica.max-lag-ms}
+ * afterwards {@link #readFromPrimary} tells the cache-filling reads to go to
+ * the primary instead. At most one timestamp is kept per product.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_STOCK = "productStock";
+    public static final String PRODUCT_LIST = "productList";
+    /** The only key in {@link #PRODUCT_LIST}; must match {@code getAllProducts}. */
+    public static final String ALL = "all";
+
+    private final CacheManager cacheManager;
+    private final long replicaLagNanos;
+    private final ConcurrentHashMap<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private volatile long listChangedAt;
+
+    public ProductCacheInvalidator(CacheManager cacheManager,
+                                   @Value("${orderup.datasource.replica.enabled:false}") boolean replicaEnabled,
+                                   @Value("${orderup.datasource.replica.max-lag-ms:2000}") long replicaMaxLagMs) {
+        this.cacheManager = cacheManager;
+        this.replicaLagNanos = replicaEnabled ? TimeUnit.MILLISECONDS.toNanos(replicaMaxLagMs) : 0;
+        this.listChangedAt = System.nanoTime() - replicaLagNanos;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        evict(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getProductId());
+    }
+
+    /** Whether a read that will be cached for this product should skip the replica, which may not have its last change yet. */
+    public boolean readFromPrimary(Long productId) {
+        if (replicaLagNanos == 0) {
+            return false;
+        }
+        Long at = changedAt.get(productId);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at < replicaLagNanos) {
+            return true;
+        }
+        changedAt.remove(productId, at);
+        return false;
+    }
+
+    /** Same as {@link #readFromPrimary(Long)} for the product list, which any change makes stale. */
+    public boolean readListFromPrimary() {
+        return replicaLagNanos > 0 && System.nanoTime() - listChangedAt < replicaLagNanos;
+    }
+
+    public void evictList() {
+        if (replicaLagNanos > 0) {
+            listChangedAt = System.nanoTime();
+        }
+        Cache list = cacheManager.getCache(PRODUCT_LIST);
+        if (list != null) {
+            list.evict(ALL);
+        }
+    }
+
+    private void evict(Long productId) {
+        if (replicaLagNanos > 0) {
+            changedAt.put(productId, System.nanoTime());
+        }
+        for (String name : new String[] {PRODUCTS, PRODUCT_STOCK}) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(productId);
+            }
+        }
+        evictList();
+    }
+}
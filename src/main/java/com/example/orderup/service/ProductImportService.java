@@ -0,0 +1,13 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.ProductImportResponse;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    enum Format { CSV, NDJSON }
+
+    /** Reads products from {@code body} one row at a time and inserts the valid ones. */
+    ProductImportResponse importProducts(InputStream body, Format format);
+}
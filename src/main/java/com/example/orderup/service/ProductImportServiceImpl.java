@@ -0,0 +1,293 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.ProductImportError;
+import com.example.orderup.dto.ProductImportResponse;
+import com.example.orderup.dto.ProductRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.exception.ServiceBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a catalogue into {@code product} without holding the file: rows are
+ * read one line at a time, validated like {@code POST /api/products}, and
+ * inserted {@code orderup.import.batch-size} at a time, each batch in its own
+ * transaction that ends with a flush and clear of the persistence context.
+ * Only the current batch and the first {@code orderup.import.max-errors}
+ * errors are kept in memory, whatever the file size. A batch the database
+ * refuses is retried row by row so one bad row does not reject its neighbours.
+ *
+ * <p>Imported products are new, so only the product list cache is evicted.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader productReader;
+    private final ProductCacheInvalidator cacheInvalidator;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ProductImportServiceImpl(EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    ProductCacheInvalidator cacheInvalidator,
+                                    @Value("${orderup.import.batch-size:500}") int batchSize,
+                                    @Value("${orderup.import.max-errors:1000}") int maxErrors) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.productReader = objectMapper.readerFor(ProductRequest.class);
+        this.cacheInvalidator = cacheInvalidator;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ProductImportResponse importProducts(InputStream body, Format format) {
+        long startNanos = System.nanoTime();
+        Import run = new Import();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            CsvColumns columns = null;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = CsvColumns.fromHeader(line);
+                    continue;
+                }
+
+                run.rowsRead++;
+                try {
+                    ProductRequest request = format == Format.CSV ? columns.parse(line) : parseJson(line);
+                    String violations = validate(request);
+                    if (violations != null) {
+                        run.reject(lineNumber, violations);
+                        continue;
+                    }
+                    run.add(lineNumber, request);
+                    if (run.batch.size() >= batchSize) {
+                        flush(run);
+                    }
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+            }
+            flush(run);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read product import", e);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        double rowsPerSecond = run.rowsRead * 1_000_000_000.0 / elapsedNanos;
+        log.info("Imported {} of {} products in {} ms ({} rows/s)", run.imported, run.rowsRead,
+                elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return ProductImportResponse.builder()
+                .rowsRead(run.rowsRead)
+                .imported(run.imported)
+                .rejected(run.rejected)
+                .errors(run.errors)
+                .errorsTruncated(run.rejected > run.errors.size())
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private void flush(Import run) {
+        if (run.batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(run.batch);
+            run.imported += run.batch.size();
+        } catch (ServiceBusyException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Retry the batch row by row so only the rows the database refuses are rejected
+            log.warn("Import batch starting at line {} failed, retrying row by row: {}",
+                    run.batchLines.get(0), e.getMessage());
+            for (int i = 0; i < run.batch.size(); i++) {
+                try {
+                    insert(List.of(run.batch.get(i)));
+                    run.imported++;
+                } catch (RuntimeException rowFailure) {
+                    run.reject(run.batchLines.get(i), "Insert failed: " + rootMessage(rowFailure));
+                }
+            }
+        }
+        cacheInvalidator.evictList();
+        run.batch.clear();
+        run.batchLines.clear();
+    }
+
+    private void insert(List<ProductRequest> requests) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ProductRequest request : requests) {
+                entityManager.persist(Product.builder()
+                        .name(request.getName())
+                        .stock(request.getStock())
+                        .stockBuckets(request.getStockBuckets())
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private ProductRequest parseJson(String line) {
+        try {
+            return productReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private String validate(ProductRequest request) {
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private final class Import {
+        private final List<ProductRequest> batch = new ArrayList<>();
+        private final List<Long> batchLines = new ArrayList<>();
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        private void add(long line, ProductRequest request) {
+            batch.add(request);
+            batchLines.add(line);
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(ProductImportError.builder().line(line).message(message).build());
+            }
+        }
+    }
+
+    /** Column positions taken from the CSV header; {@code name} and {@code stock} are required. */
+    private record CsvColumns(int name, int stock, int stockBuckets) {
+
+        static CsvColumns fromHeader(String header) {
+            List<String> names = splitCsv(header).stream()
+                    .map(h -> h.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            int name = names.indexOf("name");
+            int stock = names.indexOf("stock");
+            if (name < 0 || stock < 0) {
+                throw new InvalidRequestException("CSV header must include name and stock columns");
+            }
+            return new CsvColumns(name, stock, names.indexOf("stockbuckets"));
+        }
+
+        ProductRequest parse(String line) {
+            List<String> fields = splitCsv(line);
+            ProductRequest request = new ProductRequest();
+            request.setName(field(fields, name));
+            request.setStock(parseInt(field(fields, stock), "stock", true));
+            request.setStockBuckets(parseInt(field(fields, stockBuckets), "stockBuckets", false));
+            return request;
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : "";
+        }
+
+        private static Integer parseInt(String value, String column, boolean required) {
+            if (value.isBlank()) {
+                if (required) {
+                    throw new IllegalArgumentException(column + " is required");
+                }
+                return null;
+            }
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " must be a whole number: " + value);
+            }
+        }
+
+        /** Splits one RFC 4180 line; quoted fields may contain commas and doubled quotes, not line breaks. */
+        private static List<String> splitCsv(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
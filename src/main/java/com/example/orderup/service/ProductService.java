@@ -1,14 +1,18 @@
 package com.example.orderup.service;
 
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.ProductRequest;
 import com.example.orderup.dto.ProductResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
     ProductResponse createProduct(ProductRequest request);
     ProductResponse getProductById(Long id);
     List<ProductResponse> getAllProducts();
+    CursorPage<ProductResponse> getProducts(String after, int limit);
+    void streamAllProducts(Consumer<ProductResponse> sink);
     ProductResponse updateProduct(Long id, ProductRequest request);
     void deleteProduct(Long id);
     public int getProductStock(Long productId);
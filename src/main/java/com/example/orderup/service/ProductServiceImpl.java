@@ -1,29 +1,91 @@
 package com.example.orderup.service;
 
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.ProductRequest;
 import com.example.orderup.dto.ProductResponse;
 import com.example.orderup.entity.Product;
+import com.example.orderup.event.ProductChangedEvent;
+import com.example.orderup.event.StockChangedEvent;
 import com.example.orderup.exception.ProductNotFoundException;
 import com.example.orderup.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.orderup.repository.ProductView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Single-product reads are coalesced: concurrent {@code getProductById} or
+ * {@code getProductStock} calls for the same ID share one query, run in a
+ * read-only transaction opened by the first caller, so the others wait without
+ * holding a connection or a database permit, for at most
+ * {@code orderup.product.coalesce-wait-ms}. {@code orderup.product.coalesce-fresh-ms} keeps a
+ * result in use that long after it was read; commits touching the product end
+ * the window. Calls made inside a transaction read for themselves.
+ *
+ * <p>Reads that fill the cache normally run read-only, on the replica when one
+ * is configured, but go to the primary while {@link ProductCacheInvalidator}
+ * reports the product changed within the replica lag.
+ */
 @Service
-@RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCacheInvalidator cacheInvalidator;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryRead;
+    private final SingleFlight<Long, ProductResponse> productLookups;
+    private final SingleFlight<Long, Integer> stockLookups;
+
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              ProductCacheInvalidator cacheInvalidator,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${orderup.product.coalesce-fresh-ms:0}") long coalesceFreshMs,
+                              @Value("${orderup.product.coalesce-wait-ms:2000}") long coalesceWaitMs) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheInvalidator = cacheInvalidator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.productLookups = new SingleFlight<>(coalesceFreshMs, coalesceWaitMs, coalescedCounter(meterRegistry, "product"));
+        this.stockLookups = new SingleFlight<>(coalesceFreshMs, coalesceWaitMs, coalescedCounter(meterRegistry, "stock"));
+    }
+
+    private static Counter coalescedCounter(MeterRegistry meterRegistry, String lookup) {
+        return Counter.builder("orderup.product.coalesced")
+                .description("Product reads answered by another caller's query")
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+    }
 
     @Override
+    @Transactional
     public ProductResponse createProduct(ProductRequest request) {
         Product product = Product.builder()
                 .name(request.getName())
                 .stock(request.getStock())
+                .stockBuckets(request.getStockBuckets())
                 .build();
 
         Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
 
         return ProductResponse.builder()
                 .id(saved.getId())
@@ -34,39 +96,65 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Cacheable(cacheNames = ProductCacheInvalidator.PRODUCTS, key = "#id", sync = true)
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
-
-        return ProductResponse.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .stock(product.getStock())
-                .message("Product retrieved successfully")
-                .build();
+        return coalesce(productLookups, id, () -> productRepository.findViewById(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id)));
     }
 
     @Override
+    @Cacheable(cacheNames = ProductCacheInvalidator.PRODUCT_LIST, key = "T(com.example.orderup.service.ProductCacheInvalidator).ALL", sync = true)
     public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(product -> ProductResponse.builder()
-                        .id(product.getId())
-                        .name(product.getName())
-                        .stock(product.getStock())
-                        .message("Product retrieved successfully")
-                        .build())
+        TransactionTemplate transaction = cacheInvalidator.readListFromPrimary() ? primaryRead : readOnlyTransaction;
+        return transaction.execute(status -> productRepository.findAllViews().stream()
+                .map(this::toResponse)
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getProducts(String after, int limit) {
+        Cursors.checkLimit(limit);
+        List<ProductResponse> items = productRepository.findPageAfter(Cursors.decode(after), Limit.of(limit)).stream()
+                .map(this::toResponse)
                 .toList();
+
+        return CursorPage.<ProductResponse>builder()
+                .items(items)
+                .nextCursor(items.size() == limit ? Cursors.encode(items.get(items.size() - 1).getId()) : null)
+                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductResponse> sink) {
+        try (Stream<ProductView> rows = productRepository.streamAll()) {
+            rows.map(this::toResponse).forEach(sink);
+        }
+    }
+
+    private ProductResponse toResponse(ProductView view) {
+        return ProductResponse.builder()
+                .id(view.id())
+                .name(view.name())
+                .stock(view.stock())
+                .message("Product retrieved successfully")
+                .build();
+    }
+
+    @Override
+    @Transactional
     public ProductResponse updateProduct(Long id, ProductRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
 
         product.setName(request.getName());
         product.setStock(request.getStock());
+        product.setStockBuckets(request.getStockBuckets());
 
         Product updated = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(updated.getId()));
 
         return ProductResponse.builder()
                 .id(updated.getId())
@@ -77,16 +165,42 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
     }
     @Override
+    @Cacheable(cacheNames = ProductCacheInvalidator.PRODUCT_STOCK, key = "#productId", sync = true)
     public int getProductStock(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
-        return product.getStock();
+        return coalesce(stockLookups, productId, () -> productRepository.findViewById(productId)
+                .map(ProductView::stock)
+                .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        forget(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        forget(event.getProductId());
+    }
+
+    private void forget(Long productId) {
+        productLookups.forget(productId);
+        stockLookups.forget(productId);
+    }
+
+    private <V> V coalesce(SingleFlight<Long, V> lookups, Long id, Supplier<V> query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return query.get();
+        }
+        return lookups.load(id, () -> (cacheInvalidator.readFromPrimary(id) ? primaryRead : readOnlyTransaction)
+                .execute(status -> query.get()));
     }
 }
@@ -0,0 +1,17 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.dto.ReservationResponse;
+
+public interface ReservationService {
+
+    /** Takes the quantity out of available stock and holds it until confirmed, released or expired. */
+    ReservationResponse reserve(OrderRequest request);
+
+    /** Turns a held reservation into an order; the stock was already taken by {@link #reserve}. */
+    OrderResponse confirm(Long reservationId);
+
+    /** Gives held stock back. Releasing an already released or expired reservation is a no-op. */
+    ReservationResponse release(Long reservationId);
+}
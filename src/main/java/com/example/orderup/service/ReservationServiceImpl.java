@@ -0,0 +1,223 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.dto.ReservationResponse;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.OutboxEvent;
+import com.example.orderup.entity.Reservation;
+import com.example.orderup.entity.ReservationStatus;
+import com.example.orderup.event.StockChangedEvent;
+import com.example.orderup.exception.ReservationNotFoundException;
+import com.example.orderup.exception.ReservationStateException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OutboxEventRepository;
+import com.example.orderup.repository.ReservationExpiry;
+import com.example.orderup.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Holds stock for a checkout. The hold takes stock through the configured
+ * {@link StockStrategy} straight away and is written to {@code reservations};
+ * its expiry is tracked in a {@link TimingWheel} rather than by polling the
+ * table. Each tick releases every lapsed hold in one transaction per batch.
+ * On startup the wheel is rebuilt from the holds still in the table.
+ */
+@Slf4j
+@Service
+public class ReservationServiceImpl implements ReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final OrderRepository orderRepository;
+    private final StockStrategy stockStrategy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SoldOutRegistry soldOutRegistry;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TimingWheel<Long> expiries;
+    private final long ttlMs;
+    private final int batchSize;
+
+    public ReservationServiceImpl(ReservationRepository reservationRepository,
+                                  OrderRepository orderRepository,
+                                  StockStrategy stockStrategy,
+                                  ApplicationEventPublisher eventPublisher,
+                                  SoldOutRegistry soldOutRegistry,
+                                  OutboxEventRepository outboxEventRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${orderup.reservation.ttl-ms:300000}") long ttlMs,
+                                  @Value("${orderup.reservation.tick-ms:100}") long tickMs,
+                                  @Value("${orderup.reservation.wheel-size:512}") int wheelSize,
+                                  @Value("${orderup.reservation.expiry-batch-size:500}") int batchSize) {
+        this.reservationRepository = reservationRepository;
+        this.orderRepository = orderRepository;
+        this.stockStrategy = stockStrategy;
+        this.eventPublisher = eventPublisher;
+        this.soldOutRegistry = soldOutRegistry;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expiries = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.ttlMs = ttlMs;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponse reserve(OrderRequest request) {
+        if (soldOutRegistry.isSoldOut(request.getProductId())) {
+            throw soldOutRegistry.rejection(request.getProductId());
+        }
+
+        long epoch = soldOutRegistry.epoch(request.getProductId());
+        StockAllocation allocation = stockStrategy.allocate(request.getProductId(), request.getQuantity());
+        eventPublisher.publishEvent(new StockChangedEvent(request.getProductId()));
+        if (allocation.getRemainingStock() <= 0) {
+            soldOutRegistry.markSoldOutAfterCommit(request.getProductId(), allocation.getProductName(), epoch);
+        }
+
+        Reservation saved = reservationRepository.save(Reservation.builder()
+                .product(allocation.getProduct())
+                .customerName(request.getCustomerName())
+                .quantity(request.getQuantity())
+                .status(ReservationStatus.HELD)
+                .expiresAt(System.currentTimeMillis() + ttlMs)
+                .build());
+        scheduleAfterCommit(saved.getId(), saved.getExpiresAt());
+
+        return toResponse(saved, allocation.getProductName(), "Stock reserved");
+    }
+
+    @Override
+    @Transactional
+    public OrderResponse confirm(Long reservationId) {
+        Reservation reservation = findForUpdate(reservationId);
+        if (reservation.getStatus() != ReservationStatus.HELD) {
+            throw new ReservationStateException("Reservation " + reservationId + " is " + reservation.getStatus());
+        }
+        if (reservation.getExpiresAt() <= System.currentTimeMillis()) {
+            // The wheel gives the stock back on its next tick
+            throw new ReservationStateException("Reservation " + reservationId + " has expired");
+        }
+
+        Order saved = orderRepository.save(Order.builder()
+                .customerName(reservation.getCustomerName())
+                .quantity(reservation.getQuantity())
+                .product(reservation.getProduct())
+                .build());
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setOrderId(saved.getId());
+        outboxEventRepository.save(OutboxEvent.orderPlaced(saved.getId(), reservation.getProduct().getId(),
+                reservation.getProduct().getName(), saved.getCustomerName(), saved.getQuantity()));
+
+        return OrderResponse.builder()
+                .orderId(saved.getId())
+                .productId(reservation.getProduct().getId())
+                .productName(reservation.getProduct().getName())
+                .quantity(saved.getQuantity())
+                .message("Order placed successfully")
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ReservationResponse release(Long reservationId) {
+        Reservation reservation = findForUpdate(reservationId);
+        if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+            throw new ReservationStateException("Reservation " + reservationId + " is " + reservation.getStatus());
+        }
+        if (reservation.getStatus() == ReservationStatus.HELD) {
+            releaseHeld(List.of(reservation), ReservationStatus.RELEASED);
+        }
+        return toResponse(reservation, reservation.getProduct().getName(), "Reservation released");
+    }
+
+    @Scheduled(fixedDelayString = "${orderup.reservation.tick-ms:100}")
+    public void expireLapsedHolds() {
+        List<Long> lapsed = expiries.advance(System.currentTimeMillis());
+        for (int from = 0; from < lapsed.size(); from += batchSize) {
+            List<Long> batch = lapsed.subList(from, Math.min(from + batchSize, lapsed.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> releaseHeld(
+                        reservationRepository.findAllByIdAndStatusForUpdate(batch, ReservationStatus.HELD),
+                        ReservationStatus.EXPIRED));
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire {} reservations, retrying next tick: {}", batch.size(), e.getMessage());
+                long now = System.currentTimeMillis();
+                batch.forEach(id -> expiries.add(id, now));
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildExpiries() {
+        List<ReservationExpiry> held = reservationRepository.findExpiriesByStatus(ReservationStatus.HELD);
+        held.forEach(r -> expiries.add(r.id(), r.expiresAt()));
+        if (!held.isEmpty()) {
+            log.info("Rebuilt expiry wheel with {} held reservations", held.size());
+        }
+    }
+
+    /** Holds waiting in the wheel, including ones already confirmed or released. */
+    public int pendingExpiries() {
+        return expiries.size();
+    }
+
+    private void releaseHeld(List<Reservation> held, ReservationStatus outcome) {
+        // Ascending product IDs, so concurrent releases lock products in the same order
+        Map<Long, Integer> byProduct = new TreeMap<>();
+        for (Reservation reservation : held) {
+            reservation.setStatus(outcome);
+            byProduct.merge(reservation.getProduct().getId(), reservation.getQuantity(), Integer::sum);
+        }
+        byProduct.forEach((productId, quantity) -> {
+            stockStrategy.release(productId, quantity);
+            eventPublisher.publishEvent(new StockChangedEvent(productId));
+            soldOutRegistry.clearAfterCommit(productId);
+        });
+    }
+
+    private void scheduleAfterCommit(Long reservationId, long expiresAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    expiries.add(reservationId, expiresAt);
+                }
+            });
+        } else {
+            expiries.add(reservationId, expiresAt);
+        }
+    }
+
+    private Reservation findForUpdate(Long reservationId) {
+        return reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found: " + reservationId));
+    }
+
+    private ReservationResponse toResponse(Reservation reservation, String productName, String message) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.getId())
+                .status(reservation.getStatus())
+                .productId(reservation.getProduct().getId())
+                .productName(productName)
+                .quantity(reservation.getQuantity())
+                .expiresAt(reservation.getExpiresAt())
+                .orderId(reservation.getOrderId())
+                .message(message)
+                .build();
+    }
+}
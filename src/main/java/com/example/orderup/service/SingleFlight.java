@@ -0,0 +1,102 @@
+package com.example.orderup.service;
+
+import com.example.orderup.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the
+ * loader and everyone who asks for the key meanwhile waits for that result,
+ * or its exception, instead of running their own. With a freshness window a
+ * successful result keeps being handed out for {@code freshMs} after it
+ * completed; {@link #forget} ends the window early when the data changes.
+ * Waiters give up after {@code waitMs} with a {@link ServiceBusyException}
+ * rather than queue behind a stuck load indefinitely.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long freshNanos;
+    private final long waitMs;
+    private final Counter coalesced;
+
+    public SingleFlight(long freshMs, long waitMs, Counter coalesced) {
+        this.freshNanos = TimeUnit.MILLISECONDS.toNanos(freshMs);
+        this.waitMs = waitMs;
+        this.coalesced = coalesced;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        Flight<V> mine = new Flight<>();
+        Flight<V> flight = flights.compute(key, (k, current) ->
+                current != null && current.joinable(System.nanoTime(), freshNanos) ? current : mine);
+        if (flight != mine) {
+            coalesced.increment();
+            return flight.await(waitMs);
+        }
+        try {
+            V value = loader.get();
+            mine.completedAtNanos = System.nanoTime();
+            mine.result.complete(value);
+            if (freshNanos == 0) {
+                flights.remove(key, mine);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes the next caller load afresh. A load already in flight still
+     * answers its own waiters but is no longer joined or kept fresh, since it
+     * may have read before the change.
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    /** Keys with a load in flight or a result still within its freshness window. */
+    int size() {
+        return flights.size();
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long completedAtNanos;
+
+        boolean joinable(long nowNanos, long freshNanos) {
+            if (!result.isDone()) {
+                return true;
+            }
+            return !result.isCompletedExceptionally() && nowNanos - completedAtNanos < freshNanos;
+        }
+
+        V await(long waitMs) {
+            try {
+                return result.get(waitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new ServiceBusyException("Timed out waiting for a shared read, retry later");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceBusyException("Interrupted waiting for a shared read");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
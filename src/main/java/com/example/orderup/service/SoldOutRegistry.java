@@ -0,0 +1,89 @@
+package com.example.orderup.service;
+
+import com.example.orderup.event.ProductChangedEvent;
+import com.example.orderup.exception.InsufficientStockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers products whose stock has reached zero so further orders can be
+ * turned away before a transaction is opened. The rejection for each product
+ * is built once and rethrown, so a sold-out order allocates nothing.
+ *
+ * <p>Each product carries a restock epoch. An order reads the epoch before it
+ * reads stock and may only mark the product sold out if no restock has
+ * committed since, so a late mark can never hide fresh stock.
+ */
+@Component
+public class SoldOutRegistry {
+
+    private final ConcurrentHashMap<Long, InsufficientStockException> soldOut = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> restockEpochs = new ConcurrentHashMap<>();
+
+    /** The cached rejection for a sold-out product, or {@code null} if it may still have stock. */
+    public InsufficientStockException rejection(Long productId) {
+        return soldOut.get(productId);
+    }
+
+    public boolean isSoldOut(Long productId) {
+        return soldOut.containsKey(productId);
+    }
+
+    public long epoch(Long productId) {
+        return restockEpochs.getOrDefault(productId, 0L);
+    }
+
+    /** Marks the product sold out once the current transaction commits. */
+    public void markSoldOutAfterCommit(Long productId, String productName, long epoch) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markSoldOut(productId, productName, epoch);
+                }
+            });
+        } else {
+            markSoldOut(productId, productName, epoch);
+        }
+    }
+
+    public void markSoldOut(Long productId, String productName, long epoch) {
+        restockEpochs.compute(productId, (id, current) -> {
+            if ((current == null ? 0L : current) == epoch) {
+                soldOut.computeIfAbsent(id, k ->
+                        new InsufficientStockException("Insufficient stock for product: " + productName));
+            }
+            return current;
+        });
+    }
+
+    /** Clears the mark once the current transaction commits, e.g. after held stock is released. */
+    public void clearAfterCommit(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(productId);
+                }
+            });
+        } else {
+            clear(productId);
+        }
+    }
+
+    public void clear(Long productId) {
+        restockEpochs.compute(productId, (id, current) -> {
+            soldOut.remove(id);
+            return current == null ? 1L : current + 1;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        clear(event.getProductId());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.StockAdjustmentRequest;
+import com.example.orderup.dto.StockAdjustmentResponse;
+
+import java.util.List;
+
+public interface StockAdjustmentService {
+
+    /** Applies every delta in one transaction, or none if any product is missing or would go negative. */
+    StockAdjustmentResponse adjustStock(List<StockAdjustmentRequest> adjustments);
+}
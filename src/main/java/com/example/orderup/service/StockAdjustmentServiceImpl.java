@@ -0,0 +1,178 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.StockAdjustmentRequest;
+import com.example.orderup.dto.StockAdjustmentResponse;
+import com.example.orderup.dto.StockLevel;
+import com.example.orderup.event.StockChangedEvent;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ProductView;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies signed stock deltas to many products in one transaction. Deltas are
+ * added to the current value rather than overwriting it, so orders that commit
+ * in between are never lost. Products are updated in ascending ID order, like
+ * batch orders, so concurrent callers cannot deadlock.
+ *
+ * <p>Where all stock sits in {@code product.stock} the deltas go out as one
+ * JDBC batch of {@code UPDATE ... SET stock = stock + ? WHERE stock + ? >= 0}
+ * without loading any entity. The in-memory and bucketed strategies keep
+ * stock elsewhere, so there deltas go through the strategy: removals are
+ * allocated and additions released.
+ */
+@Service
+public class StockAdjustmentServiceImpl implements StockAdjustmentService {
+
+    private static final String ADJUST_STOCK = """
+            UPDATE product SET stock = stock + ?, version = version + 1
+            WHERE id = ? AND stock + ? >= 0""";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockStrategy stockStrategy;
+    private final ObjectProvider<StockEngine> stockEngine;
+    private final ObjectProvider<BucketedStockStrategy> bucketedStrategy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SoldOutRegistry soldOutRegistry;
+    private final int maxSize;
+
+    public StockAdjustmentServiceImpl(ProductRepository productRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      StockStrategy stockStrategy,
+                                      ObjectProvider<StockEngine> stockEngine,
+                                      ObjectProvider<BucketedStockStrategy> bucketedStrategy,
+                                      ApplicationEventPublisher eventPublisher,
+                                      SoldOutRegistry soldOutRegistry,
+                                      @Value("${orderup.stock-adjustment.max-size:10000}") int maxSize) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockStrategy = stockStrategy;
+        this.stockEngine = stockEngine;
+        this.bucketedStrategy = bucketedStrategy;
+        this.eventPublisher = eventPublisher;
+        this.soldOutRegistry = soldOutRegistry;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @Transactional
+    public StockAdjustmentResponse adjustStock(List<StockAdjustmentRequest> adjustments) {
+        Map<Long, Integer> deltas = merge(adjustments);
+        Map<Long, Long> epochs = new HashMap<>();
+        deltas.keySet().forEach(id -> epochs.put(id, soldOutRegistry.epoch(id)));
+
+        StockEngine engine = stockEngine.getIfAvailable();
+        if (engine != null || bucketedStrategy.getIfAvailable() != null) {
+            applyThroughStrategy(deltas);
+        } else {
+            applyInPlace(deltas);
+        }
+
+        Map<Long, ProductView> views = productRepository.findViewsByIdIn(deltas.keySet()).stream()
+                .collect(Collectors.toMap(ProductView::id, Function.identity()));
+        List<StockLevel> levels = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> {
+            ProductView view = views.get(productId);
+            if (view == null) {
+                // A bucketed release is a blind UPDATE that finds no row
+                throw new ProductNotFoundException("Product not found: " + productId);
+            }
+            // The engine's counter leads the table; a release only reaches it on commit
+            int stock = engine != null ? engine.available(productId) + Math.max(delta, 0) : view.stock();
+
+            eventPublisher.publishEvent(new StockChangedEvent(productId));
+            if (delta > 0) {
+                soldOutRegistry.clearAfterCommit(productId);
+            } else if (stock <= 0) {
+                soldOutRegistry.markSoldOutAfterCommit(productId, view.name(), epochs.get(productId));
+            }
+            levels.add(StockLevel.builder()
+                    .productId(productId)
+                    .productName(view.name())
+                    .delta(delta)
+                    .stock(stock)
+                    .build());
+        });
+
+        return StockAdjustmentResponse.builder()
+                .adjusted(levels.size())
+                .levels(levels)
+                .build();
+    }
+
+    /** Sums the deltas per product, in ascending product ID order. */
+    private Map<Long, Integer> merge(List<StockAdjustmentRequest> adjustments) {
+        if (adjustments.isEmpty() || adjustments.size() > maxSize) {
+            throw new InvalidRequestException("Stock adjustment must contain between 1 and " + maxSize + " items");
+        }
+
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockAdjustmentRequest adjustment : adjustments) {
+            if (adjustment.getProductId() == null) {
+                throw new InvalidRequestException("productId is required");
+            }
+            try {
+                deltas.merge(adjustment.getProductId(), adjustment.getDelta(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new InvalidRequestException("Stock delta overflows for product: " + adjustment.getProductId());
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            throw new InvalidRequestException("Stock adjustment changes nothing");
+        }
+        return deltas;
+    }
+
+    private void applyInPlace(Map<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        int[][] updated = jdbcTemplate.batchUpdate(ADJUST_STOCK, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setInt(3, entry.getValue());
+        });
+
+        int i = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                if (rows == 0) {
+                    throw refused(entries.get(i).getKey());
+                }
+                i++;
+            }
+        }
+    }
+
+    private void applyThroughStrategy(Map<Long, Integer> deltas) {
+        deltas.forEach((productId, delta) -> {
+            if (delta < 0) {
+                stockStrategy.allocate(productId, -delta);
+            } else {
+                stockStrategy.release(productId, delta);
+            }
+        });
+    }
+
+    private RuntimeException refused(Long productId) {
+        return productRepository.findViewById(productId)
+                .<RuntimeException>map(view -> new InsufficientStockException(
+                        "Insufficient stock for product: " + view.name()))
+                .orElseGet(() -> new ProductNotFoundException("Product not found: " + productId));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StockAllocation {
+    private final Product product;
+    private final String productName;
+    /** Stock left after this allocation, or an upper bound when the strategy cannot read it exactly. */
+    private final int remainingStock;
+}
@@ -0,0 +1,66 @@
+package com.example.orderup.service;
+
+import com.example.orderup.repository.StockBucketRepository;
+import com.example.orderup.repository.StockBucketView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Evens out a product's buckets in the background, so orders keep finding
+ * stock on their first try instead of falling back to locking every bucket.
+ * Each product is rebalanced in its own short transaction.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "bucketed")
+@RequiredArgsConstructor
+public class StockBucketRebalancer {
+
+    private final StockBucketRepository stockBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${orderup.stock-buckets.rebalance-interval-ms:1000}")
+    public void rebalanceAll() {
+        for (Long productId : stockBucketRepository.findBucketedProductIds()) {
+            try {
+                rebalance(productId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to rebalance stock buckets for product {}: {}", productId, e.getMessage());
+            }
+        }
+    }
+
+    /** Returns {@code true} if the buckets were uneven and have been rewritten. */
+    public boolean rebalance(Long productId) {
+        Boolean moved = transactionTemplate.execute(status -> {
+            stockBucketRepository.lockAll(productId);
+            List<StockBucketView> views = stockBucketRepository.findViewsByProductId(productId);
+            if (views.size() < 2) {
+                return false;
+            }
+
+            int total = views.stream().mapToInt(StockBucketView::stock).sum();
+            int min = views.stream().mapToInt(StockBucketView::stock).min().orElse(0);
+            int max = views.stream().mapToInt(StockBucketView::stock).max().orElse(0);
+            if (max - min <= Math.max(1, total / views.size() / 2)) {
+                return false;
+            }
+
+            for (int i = 0; i < views.size(); i++) {
+                StockBucketView view = views.get(i);
+                int target = total / views.size() + (i < total % views.size() ? 1 : 0);
+                if (target != view.stock()) {
+                    stockBucketRepository.adjust(productId, view.bucketIndex(), target - view.stock());
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(moved);
+    }
+}
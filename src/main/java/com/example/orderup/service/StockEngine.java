@@ -0,0 +1,145 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import com.example.orderup.event.ProductChangedEvent;
+import com.example.orderup.event.StockChangedEvent;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds available stock per product in memory and admits orders with a CAS
+ * decrement, so buyers of a hot product never queue on its row lock.
+ * Decrements are recorded once the order commits and written back to the
+ * product table by {@link #flush()}; until then the table lags the counter.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderup.order.strategy", havingValue = "in-memory")
+@RequiredArgsConstructor
+public class StockEngine {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockAllocation reserve(Long productId, int quantity) {
+        Counter counter = counters.computeIfAbsent(productId, this::load);
+
+        int current;
+        do {
+            current = counter.available.get();
+            if (current < quantity) {
+                throw new InsufficientStockException("Insufficient stock for product: " + counter.name);
+            }
+        } while (!counter.available.compareAndSet(current, current - quantity));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        counter.pending.addAndGet(quantity);
+                    } else {
+                        counter.available.addAndGet(quantity);
+                    }
+                }
+            });
+        } else {
+            counter.pending.addAndGet(quantity);
+        }
+
+        return new StockAllocation(productRepository.getReferenceById(productId), counter.name, current - quantity);
+    }
+
+    /**
+     * Returns stock taken by an earlier {@link #reserve}. The release is
+     * recorded as a negative pending delta, so {@link #flush()} writes it back.
+     */
+    public void release(Long productId, int quantity) {
+        Counter counter = counters.computeIfAbsent(productId, this::load);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.available.addAndGet(quantity);
+                    counter.pending.addAndGet(-quantity);
+                }
+            });
+        } else {
+            counter.available.addAndGet(quantity);
+            counter.pending.addAndGet(-quantity);
+        }
+    }
+
+    public int available(Long productId) {
+        return counters.computeIfAbsent(productId, this::load).available.get();
+    }
+
+    /** Waits for a flush already running, so every delta recorded before the call is written on return. */
+    @Scheduled(fixedDelayString = "${orderup.stock-engine.flush-interval-ms:50}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            counters.forEach(this::flush);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush(Long productId, Counter counter) {
+        long delta = counter.pending.getAndSet(0);
+        if (delta == 0) {
+            return;
+        }
+        try {
+            productRepository.adjustStock(productId, -Math.toIntExact(delta));
+            eventPublisher.publishEvent(new StockChangedEvent(productId));
+        } catch (RuntimeException e) {
+            counter.pending.addAndGet(delta);
+            log.warn("Failed to persist stock delta {} for product {}: {}", -delta, productId, e.getMessage());
+        }
+    }
+
+    /**
+     * The product table now holds an absolute value that already absorbs any
+     * unflushed decrements, so the counter is dropped and reloaded on next use.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        counters.remove(event.getProductId());
+    }
+
+    private Counter load(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found: " + productId));
+        return new Counter(product.getName(), product.getStock());
+    }
+
+    private static final class Counter {
+        private final String name;
+        private final AtomicInteger available;
+        private final AtomicLong pending = new AtomicLong();
+
+        private Counter(String name, int available) {
+            this.name = name;
+            this.available = new AtomicInteger(available);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.orderup.service;
+
+/**
+ * Takes stock out of a product for a single order. Selected with
+ * {@code orderup.order.strategy}; the pessimistic row lock is the default.
+ */
+public interface StockStrategy {
+
+    StockAllocation allocate(Long productId, int quantity);
+
+    /** Puts back stock taken by an earlier {@link #allocate} that will not become an order. */
+    void release(Long productId, int quantity);
+}
@@ -0,0 +1,124 @@
+package com.example.orderup.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} slots of
+ * {@code tickMs}; each further level has slots as wide as the whole level
+ * below and is created only when an expiry is that far out. Adding and
+ * expiring are O(1) per item; when level 0 wraps, the next level's current
+ * slot is cascaded down.
+ *
+ * <p>Items are never returned before their expiry and at most two ticks
+ * after it. There is no cancel: callers check whether an expired item still
+ * matters.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private final List<T> due = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTime;
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    public void add(T item, long expiresAtMs) {
+        lock.lock();
+        try {
+            // Rounding up by a tick means an item never fires before its expiry
+            place(new Entry<>(item, expiresAtMs + tickMs));
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Moves the wheel to {@code nowMs} and returns every item that has expired since the last call. */
+    public List<T> advance(long nowMs) {
+        lock.lock();
+        try {
+            long target = nowMs - nowMs % tickMs;
+            while (currentTime < target) {
+                currentTime += tickMs;
+                for (int i = levels.size() - 1; i >= 0; i--) {
+                    Level<T> level = levels.get(i);
+                    if (currentTime % level.tickMs == 0) {
+                        ArrayDeque<Entry<T>> slot = level.slot(currentTime);
+                        List<Entry<T>> cascaded = new ArrayList<>(slot);
+                        slot.clear();
+                        cascaded.forEach(this::place);
+                    }
+                }
+            }
+            List<T> expired = new ArrayList<>(due);
+            due.clear();
+            size -= expired.size();
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.expiresAtMs < currentTime + tickMs) {
+            due.add(entry.item);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> below = levels.get(i - 1);
+                levels.add(new Level<>(below.tickMs * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long levelTime = currentTime - currentTime % level.tickMs;
+            if (entry.expiresAtMs < levelTime + level.tickMs * wheelSize) {
+                level.slot(entry.expiresAtMs).add(entry);
+                return;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final ArrayDeque<Entry<T>>[] slots;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.slots = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new ArrayDeque<>();
+            }
+        }
+
+        private ArrayDeque<Entry<T>> slot(long timeMs) {
+            return slots[(int) ((timeMs / tickMs) % slots.length)];
+        }
+    }
+
+    private record Entry<T>(T item, long expiresAtMs) {
+    }
+}
@@ -1,4 +1,5 @@
-INSERT INTO product (name, stock) VALUES ('Product1', 100);
-INSERT INTO product (name, stock) VALUES ('Product2', 200);
+INSERT INTO product (id, name, stock, version) VALUES (NEXT VALUE FOR product_seq, 'Product1', 100, 0);
+INSERT INTO product (id, name, stock, version) VALUES (NEXT VALUE FOR product_seq, 'Product2', 200, 0);
 
-INSERT INTO orders (product_id, customer_name, quantity) VALUES (1, 'John Doe', 5);
+INSERT INTO orders (id, product_id, customer_name, quantity)
+SELECT NEXT VALUE FOR orders_seq, id, 'John Doe', 5 FROM product WHERE name = 'Product1';
@@ -0,0 +1,116 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.RateLimitedException;
+import com.example.orderup.exception.ServiceBusyException;
+import com.example.orderup.service.ConnectionPermits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdaptiveLimitAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPermits connectionPermits = new ConnectionPermits(meterRegistry, 10, 0, 50);
+    private final AdaptiveLimitAspect aspect = new AdaptiveLimitAspect(new MockEnvironment()
+            .withProperty("orderup.limiter.max-queue-ms", "10")
+            .withProperty("orderup.limiter.retry-after-seconds", "2")
+            .withProperty("orderup.limiter.latency-tolerance", "5")
+            .withProperty("orderup.limiter.orders.initial-limit", "1")
+            .withProperty("orderup.limiter.reads.initial-limit", "4"), meterRegistry, connectionPermits);
+
+    @Test
+    void testShedsCallsOverTheLimitWithRetryAfter() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint blocking = mock(ProceedingJoinPoint.class);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return "first";
+        });
+
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return aspect.limit(blocking, limit("orders"));
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        ProceedingJoinPoint second = mock(ProceedingJoinPoint.class);
+        ServiceBusyException ex = assertThrows(ServiceBusyException.class, () -> aspect.limit(second, limit("orders")));
+        assertEquals(2, ex.getRetryAfterSeconds());
+        verify(second, never()).proceed();
+        assertEquals(1.0, meterRegistry.get("orderup.limiter.rejected").tag("limiter", "orders").counter().count());
+
+        // Product reads have a limit of their own
+        ProceedingJoinPoint read = mock(ProceedingJoinPoint.class);
+        when(read.proceed()).thenReturn("read");
+        assertEquals("read", aspect.limit(read, limit("reads")));
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("orderup.limiter.inflight").tag("limiter", "orders").gauge().value());
+        assertEquals(2, meterRegistry.get("orderup.limiter.queue.time").tag("limiter", "orders").timer().count());
+    }
+
+    @Test
+    void testDownstreamOverloadLowersTheLimitButBusinessErrorsDoNot() throws Throwable {
+        ProceedingJoinPoint soldOut = mock(ProceedingJoinPoint.class);
+        when(soldOut.proceed()).thenThrow(new InsufficientStockException("Insufficient stock"));
+        assertThrows(InsufficientStockException.class, () -> aspect.limit(soldOut, limit("reads")));
+        assertEquals(4.0, meterRegistry.get("orderup.limiter.limit").tag("limiter", "reads").gauge().value());
+
+        ProceedingJoinPoint busy = mock(ProceedingJoinPoint.class);
+        when(busy.proceed()).thenThrow(new ServiceBusyException("Too many concurrent database requests"));
+        assertThrows(ServiceBusyException.class, () -> aspect.limit(busy, limit("reads")));
+        assertEquals(3.0, meterRegistry.get("orderup.limiter.limit").tag("limiter", "reads").gauge().value());
+    }
+
+    @Test
+    void testFastRejectionsAndCacheHitsDoNotShrinkTheLimit() throws Throwable {
+        ProceedingJoinPoint query = mock(ProceedingJoinPoint.class);
+        when(query.proceed()).thenAnswer(invocation -> {
+            connectionPermits.acquire(true);
+            try {
+                Thread.sleep(5);
+                return "product";
+            } finally {
+                connectionPermits.release();
+            }
+        });
+        ProceedingJoinPoint throttled = mock(ProceedingJoinPoint.class);
+        when(throttled.proceed()).thenThrow(new RateLimitedException("Rate limit exceeded", 1));
+        ProceedingJoinPoint soldOut = mock(ProceedingJoinPoint.class);
+        when(soldOut.proceed()).thenThrow(new InsufficientStockException("Insufficient stock"));
+        ProceedingJoinPoint cacheHit = mock(ProceedingJoinPoint.class);
+        when(cacheHit.proceed()).thenReturn("product");
+
+        for (int i = 0; i < 20; i++) {
+            assertThrows(RateLimitedException.class, () -> aspect.limit(throttled, limit("reads")));
+            assertThrows(InsufficientStockException.class, () -> aspect.limit(soldOut, limit("reads")));
+            assertEquals("product", aspect.limit(cacheHit, limit("reads")));
+            assertEquals("product", aspect.limit(query, limit("reads")));
+        }
+
+        assertEquals(4.0, meterRegistry.get("orderup.limiter.limit").tag("limiter", "reads").gauge().value());
+        assertTrue(meterRegistry.get("orderup.limiter.baseline").tag("limiter", "reads").gauge().value() >= 4.0);
+        assertEquals(0.0, meterRegistry.get("orderup.limiter.inflight").tag("limiter", "reads").gauge().value());
+    }
+
+    private static AdaptiveLimit limit(String name) {
+        AdaptiveLimit limit = mock(AdaptiveLimit.class);
+        when(limit.value()).thenReturn(name);
+        return limit;
+    }
+}
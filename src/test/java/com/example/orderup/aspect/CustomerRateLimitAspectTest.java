@@ -0,0 +1,99 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.RateLimitedException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.BatchOrderService;
+import com.example.orderup.service.OrderIngestionService;
+import com.example.orderup.service.OrderService;
+import com.example.orderup.service.ReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orderup.rate-limit.rate-per-second=0.01",
+        "orderup.rate-limit.burst=2",
+        "orderup.rate-limit.overrides=vip:0.01:5"})
+public class CustomerRateLimitAspectTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BatchOrderService batchOrderService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        testProduct = productRepository.save(Product.builder().name("Hot Product").stock(100).build());
+    }
+
+    @Test
+    void testThrottledOrderNeverReachesTheDatabase() {
+        double before = meterRegistry.counter("orderup.ratelimit.throttled").count();
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bot", 1));
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bot", 1));
+
+        RateLimitedException e = assertThrows(RateLimitedException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), "bot", 1)));
+        assertEquals("Too many orders for customer: bot", e.getMessage());
+        assertTrue(e.getRetryAfterSeconds() >= 99);
+        assertEquals(before + 1, meterRegistry.counter("orderup.ratelimit.throttled").count());
+        assertEquals(2, orderRepository.count());
+        assertEquals(98, productRepository.findById(testProduct.getId()).orElseThrow().getStock());
+
+        for (int i = 0; i < 5; i++) {
+            orderService.placeOrder(new OrderRequest(testProduct.getId(), "VIP", 1));
+        }
+        assertThrows(RateLimitedException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), "VIP", 1)));
+    }
+
+    @Test
+    void testThrottledCustomerCannotBatchReserveOrQueueAroundTheLimit() {
+        BatchOrderResponse response = batchOrderService.placeOrders(List.of(
+                new OrderRequest(testProduct.getId(), "Batcher", 1),
+                new OrderRequest(testProduct.getId(), "Batcher", 1),
+                new OrderRequest(testProduct.getId(), "Batcher", 1),
+                new OrderRequest(testProduct.getId(), "Other", 1)));
+
+        assertEquals(3, response.getAccepted());
+        assertFalse(response.getResults().get(2).isSuccess());
+        assertEquals("Too many orders for customer: Batcher", response.getResults().get(2).getMessage());
+        assertTrue(response.getResults().get(3).isSuccess());
+
+        assertThrows(RateLimitedException.class,
+                () -> reservationService.reserve(new OrderRequest(testProduct.getId(), "Batcher", 1)));
+        assertThrows(RateLimitedException.class,
+                () -> orderIngestionService.submit(new OrderRequest(testProduct.getId(), "Batcher", 1)));
+        assertEquals(97, productRepository.findById(testProduct.getId()).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+public class ServiceMetricsAspectTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testProduct = new Product();
+        testProduct.setName("Test Product");
+        testProduct.setStock(5);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    void testPlaceOrderLatencyIsRecordedPerOutcome() {
+        long success = count("success");
+        long insufficient = count("insufficient_stock");
+        long notFound = count("not_found");
+        long locks = meterRegistry.get("orderup.stock.lock.acquisition").timer().count();
+
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 2));
+        assertThrows(InsufficientStockException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 10)));
+        assertThrows(ProductNotFoundException.class,
+                () -> orderService.placeOrder(new OrderRequest(99999L, "Carol", 1)));
+
+        assertEquals(success + 1, count("success"));
+        assertEquals(insufficient + 1, count("insufficient_stock"));
+        assertEquals(notFound + 1, count("not_found"));
+        assertEquals(locks + 3, meterRegistry.get("orderup.stock.lock.acquisition").timer().count());
+        assertEquals(0, meterRegistry.get("orderup.service.in.flight")
+                .tag("method", "OrderService.placeOrder").gauge().value());
+    }
+
+    @Test
+    void testHistogramIsExportedForPrometheus() throws Throwable {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        ServiceMetricsAspect aspect = new ServiceMetricsAspect(prometheus);
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(OrderService.class.getMethod("placeOrder", OrderRequest.class));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+
+        aspect.timeServiceCall(joinPoint);
+        aspect.timeLockAcquisition(joinPoint);
+
+        String scrape = prometheus.scrape();
+        assertTrue(scrape.contains("orderup_service_latency_seconds_bucket{method=\"OrderService.placeOrder\",outcome=\"success\""));
+        assertTrue(scrape.contains("orderup_stock_lock_acquisition_seconds_bucket"));
+        assertTrue(scrape.contains("orderup_service_in_flight{method=\"OrderService.placeOrder\"}"));
+    }
+
+    private long count(String outcome) {
+        Timer timer = meterRegistry.find("orderup.service.latency")
+                .tags("method", "OrderService.placeOrder", "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.orderup.aspect;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.ProductRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import com.example.orderup.service.ProductService;
+import com.example.orderup.service.SoldOutRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SoldOutGuardAspectTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testProduct = new Product();
+        testProduct.setName("Test Product");
+        testProduct.setStock(1);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    void testSoldOutProductIsRejectedUntilRestocked() {
+        double before = meterRegistry.counter("orderup.order.soldout.rejected").count();
+
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 1));
+        assertTrue(soldOutRegistry.isSoldOut(testProduct.getId()));
+
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 1)));
+        assertEquals("Insufficient stock for product: Test Product", e.getMessage());
+        assertEquals(before + 1, meterRegistry.counter("orderup.order.soldout.rejected").count());
+
+        productService.updateProduct(testProduct.getId(), new ProductRequest("Test Product", 5));
+
+        assertFalse(soldOutRegistry.isSoldOut(testProduct.getId()));
+        assertNotNull(orderService.placeOrder(new OrderRequest(testProduct.getId(), "Carol", 1)).getOrderId());
+    }
+}
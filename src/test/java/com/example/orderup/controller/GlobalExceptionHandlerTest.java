@@ -2,9 +2,15 @@ package com.example.orderup.controller;
 
 import com.example.orderup.dto.ErrorResponse;
 import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.InvalidRequestException;
 import com.example.orderup.exception.OrderProcessingException;
+import com.example.orderup.exception.OrderQueueFullException;
 import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.exception.RateLimitedException;
+import com.example.orderup.exception.ReservationStateException;
+import com.example.orderup.exception.ServiceBusyException;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +41,63 @@ public class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody().getTimestamp());
     }
 
+    @Test
+    void testHandleInvalidRequest() {
+        InvalidRequestException ex = new InvalidRequestException("Batch must contain between 1 and 1000 orders");
+        ResponseEntity<ErrorResponse> response = handler.handleInvalidRequest(ex);
+
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals("Invalid Request", response.getBody().getError());
+        assertEquals("Batch must contain between 1 and 1000 orders", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleQueueFull() {
+        OrderQueueFullException ex = new OrderQueueFullException("Order queue is full, retry later");
+        ResponseEntity<ErrorResponse> response = handler.handleQueueFull(ex);
+
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Service Unavailable", response.getBody().getError());
+    }
+
+    @Test
+    void testHandleServiceBusy() {
+        ServiceBusyException ex = new ServiceBusyException("Too many concurrent database requests, retry later");
+        ResponseEntity<ErrorResponse> response = handler.handleServiceBusy(ex);
+
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Too many concurrent database requests, retry later", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleServiceBusyUsesRetryAfterFromException() {
+        ResponseEntity<ErrorResponse> response = handler.handleServiceBusy(new ServiceBusyException("Shed", 3));
+
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testHandleRateLimited() {
+        ResponseEntity<ErrorResponse> response = handler.handleRateLimited(
+                new RateLimitedException("Too many orders for customer: bot", 2));
+
+        assertEquals(429, response.getStatusCodeValue());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Too Many Requests", response.getBody().getError());
+    }
+
+    @Test
+    void testHandleReservationState() {
+        ReservationStateException ex = new ReservationStateException("Reservation 7 has expired");
+        ResponseEntity<ErrorResponse> response = handler.handleReservationState(ex);
+
+        assertEquals(409, response.getStatusCodeValue());
+        assertEquals("Reservation 7 has expired", response.getBody().getMessage());
+    }
+
     @Test
     void testHandleOrderProcessing() {
         OrderProcessingException ex = new OrderProcessingException("Database error", new RuntimeException());
@@ -46,6 +109,16 @@ public class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody().getTimestamp());
     }
 
+    @Test
+    void testHandleOptimisticLock() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated by another transaction");
+        ResponseEntity<ErrorResponse> response = handler.handleOptimisticLock(ex);
+
+        assertEquals(409, response.getStatusCodeValue());
+        assertEquals("Concurrent Update", response.getBody().getError());
+        assertNotNull(response.getBody().getTimestamp());
+    }
+
     @Test
     void testHandleGenericException() {
         Exception ex = new Exception("Something went wrong");
@@ -1,8 +1,22 @@
 package com.example.orderup.controller;
 
+import com.example.orderup.dto.BatchOrderItemResult;
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.OrderRequest;
 import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.dto.OrderTicketResponse;
+import com.example.orderup.dto.OrderTicketStatus;
+import com.example.orderup.dto.ReservationResponse;
+import com.example.orderup.entity.ReservationStatus;
+import com.example.orderup.event.OrderPlacedEvent;
+import com.example.orderup.exception.ReservationStateException;
+import com.example.orderup.service.BatchOrderService;
+import com.example.orderup.service.IdempotencyService;
+import com.example.orderup.service.OrderEventService;
+import com.example.orderup.service.OrderIngestionService;
 import com.example.orderup.service.OrderService;
+import com.example.orderup.service.ReservationService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,12 +24,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 @WebMvcTest(OrderController.class)
 public class OrderControllerTest {
 
@@ -25,6 +47,21 @@ public class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private BatchOrderService batchOrderService;
+
+    @MockitoBean
+    private OrderIngestionService orderIngestionService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private ReservationService reservationService;
+
+    @MockitoBean
+    private OrderEventService orderEventService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,4 +91,195 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$.quantity").value(2))
                 .andExpect(jsonPath("$.message").value("Order placed successfully"));
     }
+
+    @Test
+    void testPlaceOrder_WithIdempotencyKey() throws Exception {
+        OrderRequest orderRequest = new OrderRequest(1L, "John Doe", 2);
+        OrderResponse orderResponse = OrderResponse.builder()
+                .orderId(100L)
+                .productId(1L)
+                .quantity(2)
+                .message("Order placed successfully")
+                .build();
+
+        Mockito.when(idempotencyService.placeOrder(Mockito.eq("key-1"), Mockito.any(OrderRequest.class)))
+                .thenReturn(orderResponse);
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderId").value(100L));
+
+        Mockito.verify(orderService, Mockito.never()).placeOrder(Mockito.any(OrderRequest.class));
+    }
+
+    @Test
+    void testReserveAndConfirm() throws Exception {
+        ReservationResponse reservation = ReservationResponse.builder()
+                .reservationId(7L)
+                .status(ReservationStatus.HELD)
+                .productId(1L)
+                .quantity(2)
+                .expiresAt(1_000L)
+                .message("Stock reserved")
+                .build();
+        Mockito.when(reservationService.reserve(Mockito.any(OrderRequest.class))).thenReturn(reservation);
+        Mockito.when(reservationService.confirm(7L)).thenReturn(OrderResponse.builder()
+                .orderId(100L)
+                .productId(1L)
+                .quantity(2)
+                .message("Order placed successfully")
+                .build());
+
+        mockMvc.perform(post("/api/orders/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequest(1L, "John Doe", 2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.reservationId").value(7L))
+                .andExpect(jsonPath("$.status").value("HELD"));
+
+        mockMvc.perform(post("/api/orders/reservations/7/confirm"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderId").value(100L));
+    }
+
+    @Test
+    void testReleaseConfirmedReservation_Conflict() throws Exception {
+        Mockito.when(reservationService.release(7L))
+                .thenThrow(new ReservationStateException("Reservation 7 is CONFIRMED"));
+
+        mockMvc.perform(delete("/api/orders/reservations/7"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Reservation 7 is CONFIRMED"));
+    }
+
+    @Test
+    void testPlaceOrders_Batch() throws Exception {
+        List<OrderRequest> requests = List.of(
+                new OrderRequest(1L, "John Doe", 2),
+                new OrderRequest(1L, "Jane Doe", 50));
+
+        BatchOrderResponse batchResponse = BatchOrderResponse.builder()
+                .accepted(1)
+                .rejected(1)
+                .results(List.of(
+                        BatchOrderItemResult.builder().index(0).success(true).orderId(100L).productId(1L)
+                                .quantity(2).message("Order placed successfully").build(),
+                        BatchOrderItemResult.builder().index(1).success(false).productId(1L)
+                                .quantity(50).message("Insufficient stock for product: Test Product").build()))
+                .build();
+
+        Mockito.when(batchOrderService.placeOrders(Mockito.anyList())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].orderId").value(100L))
+                .andExpect(jsonPath("$.results[1].success").value(false));
+    }
+
+    @Test
+    void testSubmitOrder_Async() throws Exception {
+        OrderTicketResponse ticket = OrderTicketResponse.builder()
+                .ticketId("abc")
+                .status(OrderTicketStatus.QUEUED)
+                .productId(1L)
+                .quantity(2)
+                .message("Order accepted for processing")
+                .build();
+
+        Mockito.when(orderIngestionService.submit(Mockito.any(OrderRequest.class))).thenReturn(ticket);
+
+        mockMvc.perform(post("/api/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderRequest(1L, "John Doe", 2))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ticketId").value("abc"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testGetTicket() throws Exception {
+        OrderTicketResponse ticket = OrderTicketResponse.builder()
+                .ticketId("abc")
+                .status(OrderTicketStatus.COMPLETED)
+                .orderId(100L)
+                .productId(1L)
+                .quantity(2)
+                .message("Order placed successfully")
+                .build();
+
+        Mockito.when(orderIngestionService.getTicket("abc")).thenReturn(ticket);
+
+        mockMvc.perform(get("/api/orders/tickets/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.orderId").value(100L));
+    }
+
+    @Test
+    void testGetOrders_Page() throws Exception {
+        CursorPage<OrderResponse> page = CursorPage.<OrderResponse>builder()
+                .items(List.of(OrderResponse.builder().orderId(5L).productId(1L).quantity(1).build()))
+                .nextCursor("NQ")
+                .build();
+
+        Mockito.when(orderService.getOrders("NA", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/orders").param("after", "NA").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].orderId").value(5L))
+                .andExpect(jsonPath("$.nextCursor").value("NQ"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamOrders_Ndjson() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<OrderResponse> sink = invocation.getArgument(0);
+            sink.accept(OrderResponse.builder().orderId(1L).productId(1L).quantity(2).build());
+            sink.accept(OrderResponse.builder().orderId(2L).productId(1L).quantity(3).build());
+            return null;
+        }).when(orderService).streamAllOrders(Mockito.any());
+
+        MvcResult result = mockMvc.perform(get("/api/orders").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("orderId").asLong());
+    }
+
+    @Test
+    void testPollEvents_WaitsOnlyWhenNothingIsReady() throws Exception {
+        Mockito.when(orderEventService.poll(7L, 100, 0)).thenReturn(List.of());
+        Mockito.when(orderEventService.poll(7L, 100, 1000)).thenReturn(List.of(
+                new OrderPlacedEvent(8L, 100L, 1L, "Product1", "Alice", 2, 0L),
+                new OrderPlacedEvent(9L, 101L, 1L, "Product1", "Bob", 1, 0L)));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/events")
+                        .param("after", "7").param("limit", "100").param("waitMs", "1000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(9L, objectMapper.readTree(lines[1]).get("offset").asLong());
+        assertEquals("Bob", objectMapper.readTree(lines[1]).get("customerName").asText());
+    }
 }
@@ -0,0 +1,238 @@
+package com.example.orderup.load;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OrderView;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ProductView;
+import com.example.orderup.service.OrderService;
+import com.example.orderup.service.ProductService;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Drives {@code placeOrder} and product/order reads from many threads in
+ * process, then checks that no product was oversold. Reusable across stock
+ * strategies; pass a {@code beforeVerify} hook for strategies whose stock
+ * column lags (e.g. flushing the in-memory engine).
+ */
+@Slf4j
+public class LoadHarness {
+
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final Runnable beforeVerify;
+
+    public LoadHarness(OrderService orderService, ProductService productService,
+                       ProductRepository productRepository, OrderRepository orderRepository,
+                       Runnable beforeVerify) {
+        this.orderService = orderService;
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.beforeVerify = beforeVerify;
+    }
+
+    public LoadReport run(LoadProfile profile) throws InterruptedException {
+        List<Long> productIds = seedProducts(profile);
+        ProductPicker picker = new ProductPicker(productIds, profile);
+
+        Histogram writeLatency = new ConcurrentHistogram(3);
+        Histogram readLatency = new ConcurrentHistogram(3);
+        LongAdder reads = new LongAdder();
+        LongAdder readErrors = new LongAdder();
+        LongAdder placed = new LongAdder();
+        LongAdder insufficient = new LongAdder();
+        LongAdder lockTimeouts = new LongAdder();
+        LongAdder errors = new LongAdder();
+
+        AtomicLong budget = new AtomicLong(profile.getDuration() == null ? profile.getOperations() : Long.MAX_VALUE);
+        long deadline = profile.getDuration() == null ? Long.MAX_VALUE : System.nanoTime() + profile.getDuration().toNanos();
+        CountDownLatch done = new CountDownLatch(profile.getThreads());
+
+        ExecutorService executor = newExecutor(profile);
+        long start = System.nanoTime();
+        for (int t = 0; t < profile.getThreads(); t++) {
+            SplittableRandom random = new SplittableRandom(profile.getSeed() + t);
+            String customer = "load-" + t;
+            executor.execute(() -> {
+                try {
+                    while (budget.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                        Long productId = picker.next(random);
+                        long opStart = System.nanoTime();
+                        if (random.nextDouble() < profile.getReadRatio()) {
+                            try {
+                                read(random, productId);
+                                reads.increment();
+                            } catch (RuntimeException e) {
+                                readErrors.increment();
+                                log.warn("Load read failed: {}", e.getMessage());
+                            }
+                            readLatency.recordValue((System.nanoTime() - opStart) / 1_000);
+                            continue;
+                        }
+                        try {
+                            orderService.placeOrder(new OrderRequest(productId, customer, 1 + random.nextInt(profile.getMaxQuantity())));
+                            placed.increment();
+                        } catch (InsufficientStockException e) {
+                            insufficient.increment();
+                        } catch (RuntimeException e) {
+                            if (isLockTimeout(e)) {
+                                lockTimeouts.increment();
+                            } else {
+                                errors.increment();
+                                log.warn("Load operation failed: {}", e.getMessage());
+                            }
+                        }
+                        writeLatency.recordValue((System.nanoTime() - opStart) / 1_000);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        beforeVerify.run();
+        int[] oversell = verifyStock(productIds, profile.getStockPerProduct());
+
+        LoadReport report = LoadReport.builder()
+                .reads(reads.sum())
+                .readErrors(readErrors.sum())
+                .ordersPlaced(placed.sum())
+                .insufficientStock(insufficient.sum())
+                .lockTimeouts(lockTimeouts.sum())
+                .errors(errors.sum())
+                .elapsed(elapsed)
+                .writeLatency(summarize(writeLatency))
+                .readLatency(summarize(readLatency))
+                .oversoldProducts(oversell[0])
+                .stockMismatches(oversell[1])
+                .build();
+        log.info("Load run {}x{} {} threads, {} skew, {}% reads:\n{}", profile.getThreads(),
+                profile.getDuration() != null ? profile.getDuration() : profile.getOperations() + " ops",
+                profile.isVirtualThreads() ? "virtual" : "platform", profile.getSkew(),
+                Math.round(profile.getReadRatio() * 100), report.summary());
+        return report;
+    }
+
+    private void read(SplittableRandom random, Long productId) {
+        switch (random.nextInt(3)) {
+            case 0 -> productService.getProductById(productId);
+            case 1 -> productService.getProductStock(productId);
+            default -> orderService.getOrders(null, 50);
+        }
+    }
+
+    private List<Long> seedProducts(LoadProfile profile) {
+        List<Product> products = new ArrayList<>(profile.getProducts());
+        for (int i = 0; i < profile.getProducts(); i++) {
+            products.add(Product.builder().name("Load Product " + i).stock(profile.getStockPerProduct()).build());
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+
+    private int[] verifyStock(List<Long> productIds, int initialStock) {
+        Map<Long, Integer> sold = orderRepository.findAllViews().stream()
+                .collect(Collectors.groupingBy(OrderView::productId, HashMap::new,
+                        Collectors.summingInt(OrderView::quantity)));
+        int oversold = 0;
+        int mismatches = 0;
+        for (Long id : productIds) {
+            int units = sold.getOrDefault(id, 0);
+            int stock = productRepository.findViewById(id).map(ProductView::stock).orElse(-1);
+            if (units > initialStock || stock < 0) {
+                oversold++;
+            }
+            if (stock != initialStock - units) {
+                mismatches++;
+            }
+        }
+        return new int[] {oversold, mismatches};
+    }
+
+    private static boolean isLockTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof PessimisticLockingFailureException
+                    || t instanceof LockTimeoutException
+                    || t instanceof PessimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LoadReport.LatencySummary summarize(Histogram h) {
+        return new LoadReport.LatencySummary(h.getTotalCount(), h.getValueAtPercentile(50),
+                h.getValueAtPercentile(99), h.getValueAtPercentile(99.9), h.getMaxValue());
+    }
+
+    /** Virtual threads need Java 21; looked up reflectively so the harness still compiles on 17. */
+    private static ExecutorService newExecutor(LoadProfile profile) {
+        if (!profile.isVirtualThreads()) {
+            return Executors.newFixedThreadPool(profile.getThreads());
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+        }
+    }
+
+    /** Uniform or Zipf choice over the seeded products; product 0 is the hottest under Zipf. */
+    static final class ProductPicker {
+        private final List<Long> productIds;
+        private final double[] cdf;
+
+        ProductPicker(List<Long> productIds, LoadProfile profile) {
+            this.productIds = productIds;
+            if (profile.getSkew() == LoadProfile.Skew.ZIPF) {
+                cdf = new double[productIds.size()];
+                double sum = 0;
+                for (int i = 0; i < cdf.length; i++) {
+                    sum += 1 / Math.pow(i + 1, profile.getZipfExponent());
+                    cdf[i] = sum;
+                }
+                for (int i = 0; i < cdf.length; i++) {
+                    cdf[i] /= sum;
+                }
+            } else {
+                cdf = null;
+            }
+        }
+
+        Long next(SplittableRandom random) {
+            if (cdf == null) {
+                return productIds.get(random.nextInt(productIds.size()));
+            }
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return productIds.get(Math.min(i < 0 ? -i - 1 : i, productIds.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.orderup.load;
+
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.service.OrderService;
+import com.example.orderup.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression gate: a short skewed run that must never oversell. Scale it up
+ * for capacity planning with {@code load.*} system properties, e.g.
+ * {@code mvn test -Dtest=LoadHarnessTest -Dload.threads=64 -Dload.duration=PT30S}.
+ */
+@SpringBootTest(properties = "orderup.rate-limit.enabled=false")
+public class LoadHarnessTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private LoadHarness harness;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        harness = new LoadHarness(orderService, productService, productRepository, orderRepository, () -> { });
+    }
+
+    @Test
+    void testSkewedMixedLoadNeverOversells() throws InterruptedException {
+        LoadProfile profile = LoadProfile.builder().build().withSystemOverrides();
+
+        LoadReport report = harness.run(profile);
+
+        assertEquals(0, report.getOversoldProducts());
+        assertEquals(0, report.getStockMismatches());
+        assertEquals(0, report.getErrors());
+        assertEquals(0, report.getReadErrors());
+        assertTrue(report.getOrdersPlaced() > 0);
+        if (profile.getDuration() == null) {
+            assertEquals(profile.getOperations(), report.operations());
+        }
+    }
+
+    @Test
+    void testZipfConcentratesOnHotProduct() {
+        LoadProfile profile = LoadProfile.builder().products(100).skew(LoadProfile.Skew.ZIPF).build();
+        LoadHarness.ProductPicker picker = new LoadHarness.ProductPicker(
+                LongStream.range(0, 100).boxed().toList(), profile);
+        SplittableRandom random = new SplittableRandom(1);
+
+        int hot = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (picker.next(random) == 0L) {
+                hot++;
+            }
+        }
+
+        assertTrue(hot > 1_000, "Zipf should send well over 1% of picks to the hottest product, got " + hot);
+    }
+}
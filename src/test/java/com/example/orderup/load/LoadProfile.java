@@ -0,0 +1,66 @@
+package com.example.orderup.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * What a {@link LoadHarness} run does. Every field can be overridden with a
+ * {@code load.*} system property, so the same test doubles as a capacity
+ * planning tool, e.g. {@code -Dload.threads=64 -Dload.duration=PT30S}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class LoadProfile {
+
+    public enum Skew { UNIFORM, ZIPF }
+
+    @Builder.Default
+    private final int threads = 8;
+    @Builder.Default
+    private final boolean virtualThreads = false;
+    /** Run for this long; when null, run {@link #operations} operations instead. */
+    private final Duration duration;
+    @Builder.Default
+    private final long operations = 2_000;
+    @Builder.Default
+    private final int products = 20;
+    @Builder.Default
+    private final int stockPerProduct = 100;
+    @Builder.Default
+    private final Skew skew = Skew.ZIPF;
+    @Builder.Default
+    private final double zipfExponent = 1.1;
+    /** Fraction of operations that are reads, 0.0 to 1.0. */
+    @Builder.Default
+    private final double readRatio = 0.2;
+    @Builder.Default
+    private final int maxQuantity = 3;
+    @Builder.Default
+    private final long seed = 42;
+
+    public LoadProfile withSystemOverrides() {
+        LoadProfileBuilder b = toBuilder();
+        override("load.threads", v -> b.threads(Integer.parseInt(v)));
+        override("load.virtual-threads", v -> b.virtualThreads(Boolean.parseBoolean(v)));
+        override("load.duration", v -> b.duration(Duration.parse(v)));
+        override("load.operations", v -> b.operations(Long.parseLong(v)).duration(null));
+        override("load.products", v -> b.products(Integer.parseInt(v)));
+        override("load.stock-per-product", v -> b.stockPerProduct(Integer.parseInt(v)));
+        override("load.skew", v -> b.skew(Skew.valueOf(v.toUpperCase())));
+        override("load.zipf-exponent", v -> b.zipfExponent(Double.parseDouble(v)));
+        override("load.read-ratio", v -> b.readRatio(Double.parseDouble(v)));
+        override("load.max-quantity", v -> b.maxQuantity(Integer.parseInt(v)));
+        override("load.seed", v -> b.seed(Long.parseLong(v)));
+        return b.build();
+    }
+
+    private static void override(String property, Consumer<String> setter) {
+        String value = System.getProperty(property);
+        if (value != null && !value.isBlank()) {
+            setter.accept(value);
+        }
+    }
+}
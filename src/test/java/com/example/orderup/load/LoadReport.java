@@ -0,0 +1,52 @@
+package com.example.orderup.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@Builder
+public class LoadReport {
+
+    private final long reads;
+    /** Reads that threw; kept apart from {@code errors}, which counts failed orders. */
+    private final long readErrors;
+    private final long ordersPlaced;
+    private final long insufficientStock;
+    private final long lockTimeouts;
+    private final long errors;
+    private final Duration elapsed;
+    private final LatencySummary writeLatency;
+    private final LatencySummary readLatency;
+    /** Products with more units sold than they were stocked with. */
+    private final int oversoldProducts;
+    /** Products whose stock column disagrees with initial stock minus units sold. */
+    private final int stockMismatches;
+
+    public long operations() {
+        return reads + readErrors + ordersPlaced + insufficientStock + lockTimeouts + errors;
+    }
+
+    public double throughput() {
+        return operations() / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    public String summary() {
+        return String.format(
+                "%d ops in %d ms (%.0f ops/s): %d orders, %d insufficient stock, %d reads, %d read errors, %d lock timeouts, %d errors%n"
+                        + "  write latency %s%n"
+                        + "  read latency  %s%n"
+                        + "  oversold products %d, stock mismatches %d",
+                operations(), elapsed.toMillis(), throughput(), ordersPlaced, insufficientStock, reads, readErrors,
+                lockTimeouts, errors, writeLatency, readLatency, oversoldProducts, stockMismatches);
+    }
+
+    /** Latency percentiles in microseconds. */
+    public record LatencySummary(long count, long p50, long p99, long p999, long max) {
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%dus p99=%dus p999=%dus max=%dus", count, p50, p99, p999, max);
+        }
+    }
+}
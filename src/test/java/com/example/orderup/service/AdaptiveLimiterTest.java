@@ -0,0 +1,104 @@
+package com.example.orderup.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveLimiterTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void testLimitGrowsWhileLatencyStaysNearBaseline() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 8, 2.0, 0.5, 100);
+        long now = 0;
+        for (int i = 0; i < 200; i++) {
+            fill(limiter);
+            while (limiter.inFlight() > 0) {
+                limiter.release(10 * MS, now += MS, false);
+            }
+        }
+
+        assertEquals(8, limiter.limit());
+        assertEquals(10 * MS, limiter.baselineNanos());
+    }
+
+    @Test
+    void testLimitDoesNotGrowWhenMostlyIdle() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 8, 2.0, 0.5, 100);
+        long now = 0;
+        for (int i = 0; i < 500; i++) {
+            assertTrue(limiter.tryAcquire(0));
+            limiter.release(10 * MS, now += MS, false);
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void testSlowCallsBackOffOncePerLatency() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 8, 2.0, 0.5, 100);
+        assertTrue(limiter.tryAcquire(0));
+        limiter.release(10 * MS, 0, false);
+
+        // Eight calls that all saw the same congestion only halve the limit once
+        fill(limiter);
+        for (int i = 0; i < 8; i++) {
+            limiter.release(50 * MS, 100 * MS + i * MS, false);
+        }
+        assertEquals(4, limiter.limit());
+
+        assertTrue(limiter.tryAcquire(0));
+        limiter.release(50 * MS, 200 * MS, false);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void testOverloadedCallsBackOffToTheMinimum() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 2, 8, 2.0, 0.5, 100);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(0));
+            limiter.release(MS, i * 10 * MS, true);
+        }
+
+        assertEquals(2, limiter.limit());
+        assertEquals(0, limiter.baselineNanos(), "overloaded calls do not feed the baseline");
+    }
+
+    @Test
+    void testCallsOverTheLimitAreShedAfterWaiting() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 8, 2.0, 0.5, 100);
+        fill(limiter);
+
+        long start = System.nanoTime();
+        assertFalse(limiter.tryAcquire(20));
+        assertTrue(System.nanoTime() - start >= 20 * MS);
+
+        limiter.release(MS, MS, false);
+        assertTrue(limiter.tryAcquire(0));
+    }
+
+    @Test
+    void testBaselineFollowsAPersistentSlowdown() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 8, 2.0, 0.5, 10);
+        long now = 0;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(0));
+            limiter.release(10 * MS, now += 100 * MS, false);
+        }
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limiter.tryAcquire(0));
+            limiter.release(40 * MS, now += 100 * MS, false);
+        }
+
+        // After two windows the slower latency is the baseline, so the limit recovers from the minimum
+        assertEquals(40 * MS, limiter.baselineNanos());
+        assertTrue(limiter.limit() >= 2);
+    }
+
+    private static void fill(AdaptiveLimiter limiter) throws InterruptedException {
+        while (limiter.tryAcquire(0)) {
+            // take every free slot
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OutboxEventRepository;
+import com.example.orderup.repository.ProductRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchOrderServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ObjectProvider<StockEngine> stockEngine;
+
+    @Mock
+    private ObjectProvider<BucketedStockStrategy> bucketedStrategy;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private CustomerRateLimiter rateLimiter;
+
+    private SoldOutRegistry soldOutRegistry;
+
+    private BatchOrderServiceImpl batchOrderService;
+
+    private Product apples;
+    private Product pears;
+
+    @BeforeEach
+    void setUp() {
+        soldOutRegistry = new SoldOutRegistry();
+        batchOrderService = new BatchOrderServiceImpl(productRepository, orderRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), stockEngine, bucketedStrategy, eventPublisher,
+                soldOutRegistry, outboxEventRepository, rateLimiter, 10);
+
+        apples = Product.builder().id(1L).name("Apples").stock(5).build();
+        pears = Product.builder().id(2L).name("Pears").stock(1).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSaveAllAssigningIds() {
+        AtomicLong ids = new AtomicLong(100);
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(o -> o.setId(ids.getAndIncrement()));
+            return orders;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLocksProductsOnceInAscendingOrderAndDecrementsPerProduct() {
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(apples, pears));
+        stubSaveAllAssigningIds();
+
+        BatchOrderResponse response = batchOrderService.placeOrders(List.of(
+                new OrderRequest(2L, "Alice", 1),
+                new OrderRequest(1L, "Bob", 3),
+                new OrderRequest(2L, "Carol", 1),
+                new OrderRequest(1L, "Dave", 2)));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(productRepository, times(1)).findAllByIdForUpdate(ids.capture());
+        assertEquals(List.of(1L, 2L), new ArrayList<>(ids.getValue()));
+        verify(orderRepository, times(1)).saveAll(anyList());
+
+        assertEquals(3, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(2).isSuccess());
+        assertEquals("Insufficient stock for product: Pears", response.getResults().get(2).getMessage());
+        assertNotNull(response.getResults().get(3).getOrderId());
+        assertEquals(0, apples.getStock());
+        assertEquals(0, pears.getStock());
+        assertTrue(soldOutRegistry.isSoldOut(1L));
+        assertTrue(soldOutRegistry.isSoldOut(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSoldOutProductsAreRejectedWithoutLocking() {
+        soldOutRegistry.markSoldOut(2L, "Pears", soldOutRegistry.epoch(2L));
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(apples));
+        stubSaveAllAssigningIds();
+
+        BatchOrderResponse response = batchOrderService.placeOrders(List.of(
+                new OrderRequest(2L, "Alice", 1),
+                new OrderRequest(1L, "Bob", 1)));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(productRepository).findAllByIdForUpdate(ids.capture());
+        assertEquals(List.of(1L), new ArrayList<>(ids.getValue()));
+        assertFalse(response.getResults().get(0).isSuccess());
+        assertEquals("Insufficient stock for product: Pears", response.getResults().get(0).getMessage());
+        assertTrue(response.getResults().get(1).isSuccess());
+    }
+
+    @Test
+    void testUnknownProductAndInvalidItemsAreReportedPerItem() {
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(apples));
+        stubSaveAllAssigningIds();
+
+        BatchOrderResponse response = batchOrderService.placeOrders(List.of(
+                new OrderRequest(1L, "Alice", 1),
+                new OrderRequest(99L, "Bob", 1),
+                new OrderRequest(1L, "", 0)));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(2, response.getRejected());
+        assertEquals("Product not found: 99", response.getResults().get(1).getMessage());
+        assertTrue(response.getResults().get(2).getMessage().contains("quantity"));
+        assertTrue(response.getResults().get(2).getMessage().contains("customerName"));
+        assertEquals(4, apples.getStock());
+    }
+
+    @Test
+    void testNullItemIsReportedPerItem() {
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(apples));
+        stubSaveAllAssigningIds();
+
+        BatchOrderResponse response = batchOrderService.placeOrders(Arrays.asList(
+                new OrderRequest(1L, "Alice", 1),
+                null));
+
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("order must not be null", response.getResults().get(1).getMessage());
+    }
+
+    @Test
+    void testRejectsOversizedBatch() {
+        List<OrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(new OrderRequest(1L, "Alice", 1));
+        }
+
+        assertThrows(InvalidRequestException.class, () -> batchOrderService.placeOrders(requests));
+        verifyNoInteractions(productRepository, orderRepository);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.ProductRequest;
+import com.example.orderup.dto.StockAdjustmentRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.StockBucketRepository;
+import com.example.orderup.repository.StockBucketView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orderup.order.strategy=bucketed",
+        "orderup.stock-buckets.default-count=4",
+        "orderup.stock-buckets.rebalance-interval-ms=3600000",
+        "orderup.rate-limit.enabled=false"})
+public class BucketedStockConcurrencyTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private StockBucketRepository stockBucketRepository;
+
+    @Autowired
+    private StockBucketRebalancer rebalancer;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        stockBucketRepository.deleteAll();
+
+        testProduct = productRepository.save(Product.builder().name("Test Product").stock(40).build());
+    }
+
+    @Test
+    void testConcurrentOrderPlacement() throws InterruptedException, ExecutionException {
+        int numberOfThreads = 60;
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (int i = 0; i < numberOfThreads; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    orderService.placeOrder(new OrderRequest(testProduct.getId(), "Customer", 1));
+                    return true;
+                } catch (Exception e) {
+                    return false;
+                }
+            }));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int successCount = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) successCount++;
+        }
+
+        assertEquals(40, successCount, "Exactly 40 orders should succeed");
+        assertEquals(40, orderRepository.count());
+        assertEquals(0, productService.getProductStock(testProduct.getId()));
+        assertEquals(4, stockBucketRepository.findViewsByProductId(testProduct.getId()).size());
+    }
+
+    @Test
+    void testConcurrentReservationsAndAdjustmentsOnlyFailForStock() throws Exception {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Splitter", 1));
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 60; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> n % 3 == 0
+                    ? stockAdjustmentService.adjustStock(List.of(new StockAdjustmentRequest(testProduct.getId(), 1)))
+                    : reservationService.reserve(new OrderRequest(testProduct.getId(), "Customer " + n, 1))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // Lock conflicts between buckets are retried, so only running out of stock may fail
+                assertInstanceOf(InsufficientStockException.class, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    void testFirstOrderSplitsStockAndReadsSumBuckets() {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 1));
+
+        List<StockBucketView> buckets = stockBucketRepository.findViewsByProductId(testProduct.getId());
+        assertEquals(4, buckets.size());
+        assertEquals(39, buckets.stream().mapToInt(StockBucketView::stock).sum());
+        assertEquals(0, productRepository.findById(testProduct.getId()).get().getStock());
+        assertEquals(39, orderService.getProductStock(testProduct.getId()));
+        assertEquals(39, productService.getProductById(testProduct.getId()).getStock());
+    }
+
+    @Test
+    void testOrderLargerThanAnyBucketTakesFromSeveral() {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 1));
+
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 30));
+
+        assertEquals(9, orderService.getProductStock(testProduct.getId()));
+        assertThrows(InsufficientStockException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), "Carol", 10)));
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Dave", 9));
+        assertEquals(0, orderService.getProductStock(testProduct.getId()));
+        assertTrue(soldOutRegistry.isSoldOut(testProduct.getId()));
+    }
+
+    @Test
+    void testUpdateReplacesBucketedStock() {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 5));
+
+        productService.updateProduct(testProduct.getId(), new ProductRequest("Test Product", 8, 2));
+
+        assertTrue(stockBucketRepository.findViewsByProductId(testProduct.getId()).isEmpty());
+        assertEquals(8, productService.getProductStock(testProduct.getId()));
+
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 1));
+        assertEquals(2, stockBucketRepository.findViewsByProductId(testProduct.getId()).size());
+        assertEquals(7, orderService.getProductStock(testProduct.getId()));
+    }
+
+    @Test
+    void testStockAdjustmentKeepsBucketedStock() {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Splitter", 1));
+
+        // A write-off larger than the product row takes from the buckets
+        assertEquals(9, stockAdjustmentService.adjustStock(List.of(
+                new StockAdjustmentRequest(testProduct.getId(), -30))).getLevels().get(0).getStock());
+        assertEquals(19, stockAdjustmentService.adjustStock(List.of(
+                new StockAdjustmentRequest(testProduct.getId(), 10))).getLevels().get(0).getStock());
+        assertEquals(19, productService.getProductStock(testProduct.getId()));
+
+        assertThrows(ProductNotFoundException.class, () -> stockAdjustmentService.adjustStock(List.of(
+                new StockAdjustmentRequest(testProduct.getId() + 1000, 5))));
+    }
+
+    @Test
+    void testRebalanceEvensOutBuckets() {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 1));
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 25));
+
+        assertTrue(rebalancer.rebalance(testProduct.getId()));
+
+        List<StockBucketView> buckets = stockBucketRepository.findViewsByProductId(testProduct.getId());
+        assertEquals(14, buckets.stream().mapToInt(StockBucketView::stock).sum());
+        buckets.forEach(b -> assertTrue(b.stock() == 3 || b.stock() == 4, "uneven bucket " + b));
+        assertFalse(rebalancer.rebalance(testProduct.getId()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orderup.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "orderup.order.strategy=conditional-update")
+public class ConditionalUpdateConcurrencyTest extends StockStrategyConcurrencyTest {
+}
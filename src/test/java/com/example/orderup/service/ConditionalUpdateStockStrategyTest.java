@@ -0,0 +1,60 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ProductView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConditionalUpdateStockStrategyTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ConditionalUpdateStockStrategy strategy;
+
+    private final Product product = Product.builder().id(1L).name("Test Product").stock(3).build();
+
+    @Test
+    void testAllocateSucceedsWhenUpdateMatches() {
+        when(productRepository.decrementStockReturning(1L, 2)).thenReturn(Optional.of(new ProductView(1L, "Test Product", 1)));
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+
+        StockAllocation allocation = strategy.allocate(1L, 2);
+
+        assertSame(product, allocation.getProduct());
+        assertEquals("Test Product", allocation.getProductName());
+        assertEquals(1, allocation.getRemainingStock());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productRepository, never()).findRowViewById(anyLong());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void testAllocateRejectsWhenNoRowUpdated() {
+        when(productRepository.decrementStockReturning(1L, 5)).thenReturn(Optional.empty());
+        when(productRepository.findRowViewById(1L)).thenReturn(Optional.of(new ProductView(1L, "Test Product", 3)));
+
+        assertThrows(InsufficientStockException.class, () -> strategy.allocate(1L, 5));
+    }
+
+    @Test
+    void testAllocateUnknownProduct() {
+        when(productRepository.decrementStockReturning(9L, 1)).thenReturn(Optional.empty());
+        when(productRepository.findRowViewById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> strategy.allocate(9L, 1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.orderup.service;
+
+import com.example.orderup.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPermitsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPermits permits = new ConnectionPermits(meterRegistry, 1, 0, 50);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testRequestThreadIsRejectedWhenAllPermitsAreHeld() throws Exception {
+        CompletableFuture.runAsync(() -> permits.acquire(false)).get(5, TimeUnit.SECONDS);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThrows(ServiceBusyException.class, () -> permits.acquire(false));
+        assertEquals(1.0, meterRegistry.get("orderup.db.permits.rejected").counter().count());
+    }
+
+    @Test
+    void testBackgroundThreadWaitsInsteadOfBeingRejected() throws Exception {
+        permits.acquire(false);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            permits.acquire(false);
+            permits.release();
+        });
+        // Well past the acquire timeout, the writer is still waiting rather than failed
+        assertThrows(TimeoutException.class, () -> writer.get(300, TimeUnit.MILLISECONDS));
+
+        permits.release();
+        writer.get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, meterRegistry.get("orderup.db.permits.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("orderup.db.permits.available").gauge().value());
+    }
+
+    @Test
+    void testNestedTransactionReusesThePermit() {
+        permits.acquire(false);
+        permits.acquire(true);
+        assertEquals(0.0, meterRegistry.get("orderup.db.permits.available").gauge().value());
+
+        permits.release();
+        assertEquals(0.0, meterRegistry.get("orderup.db.permits.available").gauge().value());
+        permits.release();
+        assertEquals(1.0, meterRegistry.get("orderup.db.permits.available").gauge().value());
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseTheirOwnPermitsWhenConfigured() throws Exception {
+        ConnectionPermits split = new ConnectionPermits(meterRegistry, 1, 1, 50);
+        split.acquire(false);
+
+        // A write holds the only write permit; a read still gets in
+        CompletableFuture.runAsync(() -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            try {
+                split.acquire(true);
+                split.release();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        split.release();
+        assertEquals(1.0, meterRegistry.get("orderup.db.read-permits.available").gauge().value());
+    }
+}
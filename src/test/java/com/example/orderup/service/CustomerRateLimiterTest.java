@@ -0,0 +1,95 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.ThrottledCustomer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static CustomerRateLimiter limiter(String overrides, int maxCustomers) {
+        return new CustomerRateLimiter(new SimpleMeterRegistry(), true, 2, 3, overrides, 4, maxCustomers, 1000);
+    }
+
+    @Test
+    void testBurstThenRefillAtRate() {
+        CustomerRateLimiter limiter = limiter("", 100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("Alice", 0));
+        }
+
+        long wait = limiter.tryAcquire("Alice", 0);
+        assertEquals(SECOND / 2, wait, "one token is due after 1/rate seconds");
+        assertEquals(0, limiter.tryAcquire("Alice", SECOND / 2));
+        assertTrue(limiter.tryAcquire("Alice", SECOND / 2) > 0);
+        assertEquals(0, limiter.tryAcquire("Bob", 0), "customers have separate buckets");
+    }
+
+    @Test
+    void testNamesAreMatchedTrimmedAndCaseInsensitively() {
+        CustomerRateLimiter limiter = limiter("", 100);
+        limiter.tryAcquire("Alice", 0);
+        limiter.tryAcquire(" alice", 0);
+        limiter.tryAcquire("ALICE ", 0);
+
+        assertTrue(limiter.tryAcquire("Alice", 0) > 0);
+        assertEquals(1, limiter.trackedCustomers());
+    }
+
+    @Test
+    void testOverridesReplaceTheGlobalLimit() {
+        CustomerRateLimiter limiter = limiter("Bot-7:0:1, partner:100:50", 100);
+
+        assertEquals(0, limiter.tryAcquire("bot-7", 0));
+        assertEquals(Long.MAX_VALUE, limiter.tryAcquire("bot-7", 100 * SECOND), "a zero rate never refills");
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, limiter.tryAcquire("Partner", 0));
+        }
+        assertThrows(IllegalArgumentException.class, () -> limiter("bot-7:1", 100));
+    }
+
+    @Test
+    void testStripesAreBoundedAndIdleBucketsExpireOnceRefilled() {
+        CustomerRateLimiter limiter = limiter("", 8);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("customer-" + i, 0);
+        }
+        assertTrue(limiter.trackedCustomers() <= 8);
+        assertEquals(limiter.trackedCustomers() * (long) CustomerRateLimiter.ENTRY_OVERHEAD_BYTES
+                + limiter.trackedCustomers() * "customer-00".length(), limiter.estimatedBytes(), 8 * 2);
+
+        CustomerRateLimiter slow = new CustomerRateLimiter(new SimpleMeterRegistry(), true, 0.1, 3, "", 4, 100, 1000);
+        slow.tryAcquire("Alice", 0);
+        assertEquals(0, slow.sweep(2 * SECOND), "idle past the TTL but still refilling");
+        assertEquals(1, slow.sweep(30 * SECOND));
+        assertEquals(0, slow.trackedCustomers());
+        assertEquals(0, slow.estimatedBytes());
+    }
+
+    @Test
+    void testTopThrottledIsOrderedByThrottledCount() {
+        CustomerRateLimiter limiter = limiter("", 100);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("heavy", 0);
+        }
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("light", 0);
+        }
+
+        List<ThrottledCustomer> top = limiter.topThrottled(5);
+        assertEquals(1, top.size(), "customers within their limit are not listed");
+        assertEquals("heavy", top.get(0).getCustomerName());
+        assertEquals(7, top.get(0).getThrottled());
+
+        limiter.tryAcquire("light", 0);
+        limiter.tryAcquire("light", 0);
+        assertEquals(List.of("heavy", "light"),
+                limiter.topThrottled(5).stream().map(ThrottledCustomer::getCustomerName).toList());
+        assertEquals(1, limiter.topThrottled(1).size());
+    }
+}
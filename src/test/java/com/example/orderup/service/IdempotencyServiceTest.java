@@ -0,0 +1,178 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.repository.IdempotencyRecordRepository;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        idempotencyRecordRepository.deleteAll();
+
+        testProduct = new Product();
+        testProduct.setName("Test Product");
+        testProduct.setStock(10);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    void testConcurrentDuplicatesPlaceOneOrder() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int numberOfThreads = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+
+        for (int i = 0; i < numberOfThreads; i++) {
+            futures.add(executor.submit(() ->
+                    idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2))));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Long orderId = futures.get(0).get().getOrderId();
+        for (Future<OrderResponse> future : futures) {
+            assertEquals(orderId, future.get().getOrderId());
+        }
+        assertEquals(1, orderRepository.count());
+        assertEquals(8, productRepository.findById(testProduct.getId()).get().getStock());
+    }
+
+    @Test
+    void testKeyRecordedBeforeRestartReturnsStoredResponse() {
+        String key = UUID.randomUUID().toString();
+        OrderResponse first = idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2));
+
+        // A fresh instance has an empty in-memory map, as after a restart
+        IdempotencyService restarted = new IdempotencyServiceImpl(orderService, idempotencyRecordRepository, 100, 60_000, 1_000);
+        OrderResponse retried = restarted.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2));
+
+        assertEquals(first.getOrderId(), retried.getOrderId());
+        assertEquals(1, orderRepository.count());
+        assertEquals(8, productRepository.findById(testProduct.getId()).get().getStock());
+    }
+
+    @Test
+    void testStoredResponseIsReplayedAfterTheProductSellsOut() {
+        String key = UUID.randomUUID().toString();
+        OrderResponse first = idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2));
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 8));
+        assertTrue(soldOutRegistry.isSoldOut(testProduct.getId()));
+
+        IdempotencyService restarted = new IdempotencyServiceImpl(orderService, idempotencyRecordRepository, 100, 60_000, 1_000);
+        OrderResponse retried = restarted.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2));
+
+        assertEquals(first.getOrderId(), retried.getOrderId());
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    void testKeyReusedByAnotherCustomerIsRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2));
+
+        assertThrows(InvalidRequestException.class,
+                () -> idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Mallory", 2)));
+        IdempotencyService restarted = new IdempotencyServiceImpl(orderService, idempotencyRecordRepository, 100, 60_000, 1_000);
+        assertThrows(InvalidRequestException.class,
+                () -> restarted.placeOrder(key, new OrderRequest(testProduct.getId(), "Mallory", 2)));
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void testKeyReusedForDifferentOrderIsRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2));
+
+        assertThrows(InvalidRequestException.class,
+                () -> idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 3)));
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void testKeyReusedForDifferentOrderIsRejectedWhileTheFirstIsInFlight() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OrderService slowOrders = mock(OrderService.class);
+        when(slowOrders.placeOrder(any(OrderRequest.class), anyString())).thenAnswer(invocation -> {
+            placing.countDown();
+            release.await();
+            return OrderResponse.builder().orderId(1L).build();
+        });
+        IdempotencyService service = new IdempotencyServiceImpl(slowOrders, idempotencyRecordRepository, 100, 60_000, 10_000);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<OrderResponse> first = executor.submit(
+                    () -> service.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 2)));
+            assertTrue(placing.await(5, TimeUnit.SECONDS));
+
+            InvalidRequestException e = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThrows(
+                    InvalidRequestException.class,
+                    () -> service.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 3))));
+            assertEquals("Idempotency-Key was already used for a different order", e.getMessage());
+
+            release.countDown();
+            assertEquals(1L, first.get(5, TimeUnit.SECONDS).getOrderId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedOrderCanBeRetriedWithSameKey() {
+        String key = UUID.randomUUID().toString();
+
+        assertThrows(RuntimeException.class,
+                () -> idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 11)));
+        testProduct.setStock(20);
+        productRepository.save(testProduct);
+
+        assertNotNull(idempotencyService.placeOrder(key, new OrderRequest(testProduct.getId(), "Alice", 11)).getOrderId());
+    }
+}
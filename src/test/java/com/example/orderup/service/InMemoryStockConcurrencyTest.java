@@ -0,0 +1,57 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.StockAdjustmentRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "orderup.order.strategy=in-memory")
+public class InMemoryStockConcurrencyTest extends StockStrategyConcurrencyTest {
+
+    @Autowired
+    private StockEngine stockEngine;
+
+    @Autowired
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Override
+    protected int storedStock() {
+        assertEquals(0, stockEngine.available(testProduct.getId()));
+        stockEngine.flush();
+        return super.storedStock();
+    }
+
+    @Test
+    void testRestockDuringOrdersReachesCounterAndTable() throws InterruptedException {
+        int numberOfThreads = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            int n = i;
+            executor.submit(() -> {
+                try {
+                    if (n % 2 == 0) {
+                        stockAdjustmentService.adjustStock(List.of(new StockAdjustmentRequest(testProduct.getId(), 1)));
+                    } else {
+                        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Customer " + n, 1));
+                    }
+                } catch (Exception ignored) {
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int expected = 10 + 10 - (int) orderRepository.count();
+        assertEquals(expected, stockEngine.available(testProduct.getId()));
+        stockEngine.flush();
+        assertEquals(expected, productRepository.findById(testProduct.getId()).get().getStock());
+    }
+}
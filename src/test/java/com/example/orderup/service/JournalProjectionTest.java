@@ -0,0 +1,180 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.OutboxEvent;
+import com.example.orderup.exception.OrderProcessingException;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.JournalCheckpointRepository;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OutboxEventRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orderup.journal.enabled=true",
+        "orderup.journal.dir=${java.io.tmpdir}/orderup-journal-test-${random.uuid}",
+        "orderup.journal.segment-bytes=1024",
+        "orderup.journal.fsync=always",
+        "orderup.journal.projection-interval-ms=3600000"})
+public class JournalProjectionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderJournal journal;
+
+    @Autowired
+    private JournalProjector projector;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        projector.projectPending();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testProduct = productRepository.save(Product.builder().name("Test Product").stock(100).build());
+    }
+
+    @Test
+    void testOrdersAreJournaledThenProjected() {
+        List<OrderResponse> placed = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            placed.add(orderService.placeOrder(new OrderRequest(testProduct.getId(), "Customer " + i, 2)));
+        }
+
+        assertEquals(20, orderService.getProductStock(testProduct.getId()));
+        assertEquals(0, orderRepository.count());
+        assertTrue(journal.segmentCount() > 1);
+
+        assertEquals(40, projector.projectPending());
+
+        assertEquals(40, orderRepository.count());
+        OrderResponse last = placed.get(39);
+        assertTrue(last.getOrderId() >= 1_000_000_000_000L);
+        OrderResponse projected = orderService.getOrderById(last.getOrderId());
+        assertEquals("Test Product", projected.getProductName());
+        assertEquals(2, projected.getQuantity());
+
+        assertEquals(journal.endPosition(), projector.checkpoint().getPosition());
+        assertEquals(1, journal.segmentCount());
+        assertEquals(0, projector.projectPending());
+    }
+
+    @Test
+    void testUnprojectedTailIsReplayedOnce() {
+        // Records a previous run journaled and committed but never projected
+        long start = journal.endPosition();
+        for (int i = 0; i < 5; i++) {
+            long orderId = journal.reserveId();
+            journal.append(new JournalEntry(orderId, testProduct.getId(), "Replayed " + i, 1, 0));
+            outboxEventRepository.save(OutboxEvent.orderPlaced(orderId, testProduct.getId(), "Test Product", "Replayed " + i, 1));
+        }
+        assertTrue(projector.checkpoint().getPosition() <= start);
+
+        JournalProjector restarted = new JournalProjector(journal, checkpointRepository, jdbcTemplate,
+                transactionTemplate, 2);
+        restarted.replay();
+        restarted.replay();
+
+        List<Order> orders = orderRepository.findAll();
+        assertEquals(5, orders.size());
+        assertEquals(5, orders.stream().map(Order::getId).distinct().count());
+        assertEquals(journal.endPosition(), restarted.checkpoint().getPosition());
+    }
+
+    @Test
+    void testOrdersForDeletedProductAreDropped() {
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 1));
+        productRepository.deleteAll();
+
+        assertEquals(1, projector.projectPending());
+        assertEquals(0, orderRepository.count());
+        assertEquals(journal.endPosition(), projector.checkpoint().getPosition());
+    }
+
+    @Test
+    void testFailedAppendRollsBackTheOrder() {
+        String tooLong = "x".repeat(2048);
+        assertThrows(OrderProcessingException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), tooLong, 5)));
+
+        assertEquals(100, orderService.getProductStock(testProduct.getId()));
+        assertTrue(outboxEventRepository.findAll().stream().noneMatch(e -> tooLong.equals(e.getCustomerName())));
+    }
+
+    @Test
+    void testRolledBackOrderIsNotProjected() {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.placeOrder(new OrderRequest(testProduct.getId(), "Rolled Back", 5));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(100, orderService.getProductStock(testProduct.getId()));
+        assertEquals(1, projector.projectPending());
+        assertEquals(0, orderRepository.count());
+        assertEquals(journal.endPosition(), projector.checkpoint().getPosition());
+    }
+
+    @Test
+    void testRunningTransactionHoldsProjectionBack() throws Exception {
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            orderService.placeOrder(new OrderRequest(testProduct.getId(), "Slow Commit", 1));
+            appended.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        try {
+            assertTrue(appended.await(5, TimeUnit.SECONDS));
+            Product other = productRepository.save(Product.builder().name("Other Product").stock(10).build());
+            orderService.placeOrder(new OrderRequest(other.getId(), "Fast Commit", 1));
+
+            assertEquals(0, projector.projectPending(), "the later record waits behind the open transaction");
+        } finally {
+            commit.countDown();
+        }
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(2, projector.projectPending());
+        assertEquals(2, orderRepository.count());
+    }
+}
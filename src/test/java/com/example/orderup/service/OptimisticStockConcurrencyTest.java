@@ -0,0 +1,25 @@
+package com.example.orderup.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orderup.order.strategy=optimistic",
+        "orderup.optimistic.max-attempts=100"
+})
+public class OptimisticStockConcurrencyTest extends StockStrategyConcurrencyTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void verifyAfterConcurrentOrders() {
+        assertTrue(productRepository.findById(testProduct.getId()).get().getVersion() >= 10,
+                "Each decrement should bump the version");
+        assertEquals(10, meterRegistry.get("orderup.order.optimistic.retries").summary().count());
+        assertEquals(0, meterRegistry.get("orderup.order.optimistic.exhausted").counter().count());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.BatchOrderItemResult;
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderTicketResponse;
+import com.example.orderup.dto.OrderTicketStatus;
+import com.example.orderup.exception.OrderProcessingException;
+import com.example.orderup.exception.OrderQueueFullException;
+import com.example.orderup.exception.TicketNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderIngestionServiceImplTest {
+
+    @Mock
+    private BatchOrderService batchOrderService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrderIngestionServiceImpl ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = new OrderIngestionServiceImpl(batchOrderService, meterRegistry, 3, 2, 10, 0, 60_000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testQueuedOrdersAreCommittedInGroups() throws InterruptedException {
+        when(batchOrderService.placeAdmittedOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderRequest> requests = invocation.getArgument(0);
+            List<BatchOrderItemResult> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(BatchOrderItemResult.builder().index(i).success(i == 0).orderId(i == 0 ? 10L : null)
+                        .message(i == 0 ? "Order placed successfully" : "Insufficient stock for product: P").build());
+            }
+            return BatchOrderResponse.builder().results(results).build();
+        });
+
+        OrderTicketResponse first = ingestionService.submit(new OrderRequest(1L, "Alice", 1));
+        OrderTicketResponse second = ingestionService.submit(new OrderRequest(1L, "Bob", 1));
+        OrderTicketResponse third = ingestionService.submit(new OrderRequest(1L, "Carol", 1));
+
+        assertEquals(OrderTicketStatus.QUEUED, first.getStatus());
+        assertEquals(3.0, meterRegistry.get("orderup.ingest.queue.depth").gauge().value());
+
+        assertEquals(2, ingestionService.writeNextBatch(0));
+        assertEquals(1, ingestionService.writeNextBatch(0));
+        assertEquals(0, ingestionService.writeNextBatch(0));
+
+        verify(batchOrderService, times(2)).placeAdmittedOrders(anyList());
+        assertEquals(OrderTicketStatus.COMPLETED, ingestionService.getTicket(first.getTicketId()).getStatus());
+        assertEquals(10L, ingestionService.getTicket(first.getTicketId()).getOrderId());
+        assertEquals(OrderTicketStatus.FAILED, ingestionService.getTicket(second.getTicketId()).getStatus());
+        assertEquals(OrderTicketStatus.COMPLETED, ingestionService.getTicket(third.getTicketId()).getStatus());
+        assertEquals(2, meterRegistry.get("orderup.ingest.batch.size").summary().count());
+        assertEquals(2, meterRegistry.get("orderup.ingest.commit.latency").timer().count());
+    }
+
+    @Test
+    void testFullQueueRejects() {
+        for (int i = 0; i < 3; i++) {
+            ingestionService.submit(new OrderRequest(1L, "Alice", 1));
+        }
+
+        assertThrows(OrderQueueFullException.class, () -> ingestionService.submit(new OrderRequest(1L, "Bob", 1)));
+    }
+
+    @Test
+    void testFailedCommitFailsWholeGroup() throws InterruptedException {
+        when(batchOrderService.placeAdmittedOrders(anyList()))
+                .thenThrow(new OrderProcessingException("Failed to process order batch: DB down", new RuntimeException()));
+
+        OrderTicketResponse ticket = ingestionService.submit(new OrderRequest(1L, "Alice", 1));
+        ingestionService.writeNextBatch(0);
+
+        OrderTicketResponse status = ingestionService.getTicket(ticket.getTicketId());
+        assertEquals(OrderTicketStatus.FAILED, status.getStatus());
+        assertTrue(status.getMessage().contains("DB down"));
+    }
+
+    @Test
+    void testExpiredTicketsArePurged() throws InterruptedException {
+        OrderIngestionServiceImpl shortLived = new OrderIngestionServiceImpl(batchOrderService, meterRegistry, 3, 2, 10, 0, -1);
+        when(batchOrderService.placeAdmittedOrders(anyList())).thenReturn(BatchOrderResponse.builder()
+                .results(List.of(BatchOrderItemResult.builder().success(true).orderId(1L).build())).build());
+
+        OrderTicketResponse ticket = shortLived.submit(new OrderRequest(1L, "Alice", 1));
+        shortLived.writeNextBatch(0);
+        shortLived.purgeExpiredTickets();
+
+        assertThrows(TicketNotFoundException.class, () -> shortLived.getTicket(ticket.getTicketId()));
+    }
+
+    @Test
+    void testDrainLargerThanTheBatchLimitIsRejectedAtStartup() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderIngestionServiceImpl(batchOrderService, meterRegistry, 3, 11, 10, 0, 60_000));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.orderup.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private OrderJournal open(int segmentBytes) {
+        return new OrderJournal(dir.toString(), segmentBytes, "records", 10, 1_000);
+    }
+
+    @Test
+    void testAppendRollsSegmentsAndReopensAtSamePosition() {
+        OrderJournal journal = open(512);
+        for (int i = 0; i < 50; i++) {
+            journal.append(new JournalEntry(journal.reserveId(), 7, "customer-" + i, i + 1, 0));
+        }
+        long end = journal.endPosition();
+        assertTrue(journal.segmentCount() > 1);
+        journal.close();
+
+        OrderJournal reopened = open(512);
+        assertEquals(end, reopened.endPosition());
+        assertEquals(1_050, reopened.reserveId());
+
+        List<JournalEntry> entries = reopened.read(reopened.startPosition(), 100);
+        assertEquals(50, entries.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(1_000 + i, entries.get(i).orderId());
+            assertEquals("customer-" + i, entries.get(i).customerName());
+            assertEquals(i + 1, entries.get(i).quantity());
+        }
+
+        // Resuming from a record's end position continues with the next one
+        List<JournalEntry> tail = reopened.read(entries.get(19).endPosition(), 100);
+        assertEquals(30, tail.size());
+        assertEquals(1_020, tail.get(0).orderId());
+        assertEquals(end, tail.get(29).endPosition());
+    }
+
+    @Test
+    void testTornTailIsDiscardedOnOpen() throws IOException {
+        OrderJournal journal = open(4096);
+        journal.append(new JournalEntry(journal.reserveId(), 1, "alice", 1, 0));
+        long firstEnd = journal.endPosition();
+        journal.append(new JournalEntry(journal.reserveId(), 1, "bob", 2, 0));
+        journal.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4096);
+            // Corrupt the last byte of bob's name as if the write was cut short
+            buffer.put((int) journal.endPosition() - 1, (byte) 0);
+            buffer.force();
+        }
+
+        OrderJournal reopened = open(4096);
+        assertEquals(firstEnd, reopened.endPosition());
+        List<JournalEntry> entries = reopened.read(0, 10);
+        assertEquals(1, entries.size());
+        assertEquals("alice", entries.get(0).customerName());
+
+        reopened.append(new JournalEntry(reopened.reserveId(), 1, "carol", 3, 0));
+        assertEquals(List.of("alice", "carol"), reopened.read(0, 10).stream().map(JournalEntry::customerName).toList());
+    }
+
+    @Test
+    void testProjectedSegmentsAreDeleted() {
+        OrderJournal journal = open(256);
+        for (int i = 0; i < 20; i++) {
+            journal.append(new JournalEntry(journal.reserveId(), 1, "c", 1, 0));
+        }
+        int segments = journal.segmentCount();
+        assertTrue(segments > 2);
+
+        List<JournalEntry> entries = journal.read(0, 100);
+        assertEquals(0, journal.deleteSegmentsBefore(entries.get(0).endPosition()));
+        assertEquals(segments - 1, journal.deleteSegmentsBefore(journal.endPosition()));
+        assertEquals(1, journal.segmentCount());
+
+        // Reading from a deleted position starts at the oldest segment left
+        List<JournalEntry> left = journal.read(0, 100);
+        assertEquals(2, left.size());
+        assertEquals(journal.endPosition(), left.get(1).endPosition());
+    }
+}
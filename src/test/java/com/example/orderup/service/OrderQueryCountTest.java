@@ -0,0 +1,129 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.BatchOrderResponse;
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Order;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the order read paths against N+1 regressions by counting the JDBC
+ * statements Hibernate prepares for each call. The outbox relay polls on its
+ * own schedule, so it is slowed down here to keep the counts deterministic.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "orderup.outbox.poll-interval-ms=3600000"})
+public class OrderQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BatchOrderService batchOrderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        List<Order> orders = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            Product product = productRepository.save(Product.builder().name("Product " + p).stock(100).build());
+            for (int o = 0; o < 4; o++) {
+                orders.add(Order.builder().product(product).customerName("Customer " + o).quantity(1).build());
+            }
+        }
+        firstOrderId = orderRepository.saveAll(orders).get(0).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAllOrdersUsesOneStatement() {
+        assertEquals(12, orderService.getAllOrders().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetOrderByIdUsesOneStatement() {
+        assertEquals("Product 0", orderService.getOrderById(firstOrderId).getProductName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testOrderPageUsesOneStatement() {
+        assertEquals(5, orderService.getOrders(null, 5).getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testStreamAllOrdersUsesOneStatement() {
+        List<Long> ids = new ArrayList<>();
+        orderService.streamAllOrders(order -> ids.add(order.getOrderId()));
+
+        assertEquals(12, ids.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSaveAllOrdersIsBatched() {
+        Product product = productRepository.findAll().get(0);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            orders.add(Order.builder().product(product).customerName("Bulk " + i).quantity(1).build());
+        }
+        statistics.clear();
+
+        orderRepository.saveAll(orders);
+
+        // Pooled sequence IDs: a couple of sequence calls and one statement per JDBC batch, not one per row
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(112, orderRepository.count());
+    }
+
+    @Test
+    void testBatchOrderInsertsAreBatched() {
+        List<Product> products = productRepository.findAll();
+        List<OrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(new OrderRequest(products.get(i % products.size()).getId(), "Bulk " + i, 1));
+        }
+        statistics.clear();
+
+        BatchOrderResponse response = batchOrderService.placeOrders(requests);
+
+        // Orders and their outbox rows both go out in JDBC batches, not one insert per row
+        assertEquals(120, response.getAccepted());
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -1,28 +1,41 @@
 package com.example.orderup.service;
 
 import com.example.orderup.controller.GlobalExceptionHandler;
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.OrderRequest;
 import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.entity.IdempotencyRecord;
 import com.example.orderup.entity.Order;
+import com.example.orderup.entity.OutboxEvent;
 import com.example.orderup.entity.Product;
 import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.InvalidRequestException;
 import com.example.orderup.exception.OrderProcessingException;
 import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.IdempotencyRecordRepository;
 import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OrderView;
+import com.example.orderup.repository.OutboxEventRepository;
 import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ProductView;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,13 +49,31 @@ public class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private ObjectProvider<OrderJournal> orderJournal;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private SoldOutRegistry soldOutRegistry;
+
     private OrderServiceImpl orderService;
 
     private Product product;
 
     @BeforeEach
     public void setUp() {
+        soldOutRegistry = new SoldOutRegistry();
+        orderService = new OrderServiceImpl(productRepository, orderRepository,
+                new PessimisticStockStrategy(productRepository), eventPublisher, soldOutRegistry,
+                idempotencyRecordRepository, orderJournal, outboxEventRepository);
+
         product = new Product();
         product.setId(1L);
         product.setName("Test Product");
@@ -76,6 +107,37 @@ public class OrderServiceImplTest {
 
         verify(productRepository).save(any(Product.class));
         verify(orderRepository).save(any(Order.class));
+
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        assertEquals(OutboxEvent.ORDER_PLACED, event.getValue().getType());
+        assertEquals(100L, event.getValue().getOrderId());
+        assertEquals("Alice", event.getValue().getCustomerName());
+    }
+
+    @Test
+    void testPlaceOrderJournalMode() {
+        OrderRequest request = new OrderRequest();
+        request.setProductId(1L);
+        request.setCustomerName("Alice");
+        request.setQuantity(2);
+
+        OrderJournal journal = mock(OrderJournal.class);
+        when(orderJournal.getIfAvailable()).thenReturn(journal);
+        when(journal.reserveId()).thenReturn(1_000_000_000_000L);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+
+        OrderResponse response = orderService.placeOrder(request);
+
+        assertEquals(1_000_000_000_000L, response.getOrderId());
+        assertEquals(2, response.getQuantity());
+
+        ArgumentCaptor<JournalEntry> entry = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journal).appendBeforeCommit(entry.capture());
+        assertEquals(1_000_000_000_000L, entry.getValue().orderId());
+        assertEquals("Alice", entry.getValue().customerName());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -101,7 +163,39 @@ public class OrderServiceImplTest {
 
         when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
 
-        assertThrows(InsufficientStockException.class, () -> orderService.placeOrder(request));
+        InsufficientStockException e = assertThrows(InsufficientStockException.class, () -> orderService.placeOrder(request));
+        assertEquals(0, e.getStackTrace().length);
+        assertFalse(soldOutRegistry.isSoldOut(1L));
+    }
+
+    @Test
+    void testLastUnitMarksProductSoldOut() {
+        product.setStock(2);
+        Order savedOrder = Order.builder().id(100L).product(product).customerName("Alice").quantity(2).build();
+
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+        orderService.placeOrder(new OrderRequest(1L, "Alice", 2));
+
+        assertTrue(soldOutRegistry.isSoldOut(1L));
+        assertEquals("Insufficient stock for product: Test Product", soldOutRegistry.rejection(1L).getMessage());
+    }
+
+    @Test
+    void testPlaceOrderWithIdempotencyKeyRecordsResponse() {
+        Order savedOrder = Order.builder().id(100L).product(product).customerName("Alice").quantity(2).build();
+
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+        orderService.placeOrder(new OrderRequest(1L, "Alice", 2), "key-1");
+
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).save(record.capture());
+        assertEquals("key-1", record.getValue().getKey());
+        assertEquals(100L, record.getValue().getOrderId());
+        assertTrue(record.getValue().isNew());
     }
 
     @Test
@@ -112,7 +206,8 @@ public class OrderServiceImplTest {
         order.setQuantity(3);
         order.setProduct(product);
 
-        when(orderRepository.findById(123L)).thenReturn(Optional.of(order));
+        when(orderRepository.findViewById(123L)).thenReturn(Optional.of(
+                new OrderView(order.getId(), product.getId(), product.getName(), order.getQuantity())));
 
         OrderResponse response = orderService.getOrderById(123L);
 
@@ -124,7 +219,7 @@ public class OrderServiceImplTest {
 
     @Test
     void testGetOrderByIdNotFound() {
-        when(orderRepository.findById(404L)).thenReturn(Optional.empty());
+        when(orderRepository.findViewById(404L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> orderService.getOrderById(404L));
     }
@@ -143,7 +238,9 @@ public class OrderServiceImplTest {
         order2.setQuantity(1);
         order2.setProduct(product);
 
-        when(orderRepository.findAll()).thenReturn(List.of(order1, order2));
+        when(orderRepository.findAllViews()).thenReturn(List.of(
+                new OrderView(order1.getId(), product.getId(), product.getName(), order1.getQuantity()),
+                new OrderView(order2.getId(), product.getId(), product.getName(), order2.getQuantity())));
 
         var responses = orderService.getAllOrders();
 
@@ -155,7 +252,7 @@ public class OrderServiceImplTest {
 
     @Test
     void testGetProductStock() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findViewById(1L)).thenReturn(Optional.of(new ProductView(1L, "Test Product", 10)));
 
         int stock = orderService.getProductStock(1L);
 
@@ -164,7 +261,7 @@ public class OrderServiceImplTest {
 
     @Test
     void testGetProductStockNotFound() {
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findViewById(999L)).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, () -> orderService.getProductStock(999L));
     }
@@ -200,7 +297,8 @@ public class OrderServiceImplTest {
                 .customerName("John")
                 .build();
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findViewById(1L)).thenReturn(Optional.of(
+                new OrderView(order.getId(), product.getId(), product.getName(), order.getQuantity())));
 
         OrderResponse response = orderService.getOrderById(1L);
 
@@ -253,5 +351,46 @@ public class OrderServiceImplTest {
         assertTrue(ex.getMessage().contains("Failed to process order"));
     }
 
+    @Test
+    void testGetOrdersReturnsNextCursorForFullPage() {
+        when(orderRepository.findPageAfter(eq(0L), eq(Limit.of(2)))).thenReturn(List.of(
+                new OrderView(1L, 1L, "Test Product", 2),
+                new OrderView(2L, 1L, "Test Product", 1)));
+
+        CursorPage<OrderResponse> page = orderService.getOrders(null, 2);
 
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, Cursors.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testGetOrdersLastPageHasNoCursor() {
+        when(orderRepository.findPageAfter(eq(2L), eq(Limit.of(2)))).thenReturn(List.of(
+                new OrderView(3L, 1L, "Test Product", 4)));
+
+        CursorPage<OrderResponse> page = orderService.getOrders(Cursors.encode(2L), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Order retrieved successfully", page.getItems().get(0).getMessage());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetOrdersRejectsBadLimitAndCursor() {
+        assertThrows(InvalidRequestException.class, () -> orderService.getOrders(null, 0));
+        assertThrows(InvalidRequestException.class, () -> orderService.getOrders("not-a-cursor", 10));
+    }
+
+    @Test
+    void testStreamAllOrders() {
+        when(orderRepository.streamAll()).thenReturn(Stream.of(
+                new OrderView(1L, 1L, "Test Product", 2),
+                new OrderView(2L, 1L, "Test Product", 1)));
+
+        List<OrderResponse> streamed = new ArrayList<>();
+        orderService.streamAllOrders(streamed::add);
+
+        assertEquals(2, streamed.size());
+        assertEquals(2L, streamed.get(1).getOrderId());
+    }
 }
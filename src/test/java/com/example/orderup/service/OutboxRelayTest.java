@@ -0,0 +1,195 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.OutboxEvent;
+import com.example.orderup.entity.Product;
+import com.example.orderup.event.OrderPlacedEvent;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Closes its context afterwards so the scheduled relay stops before other tests reuse the database. */
+@SpringBootTest(properties = "orderup.outbox.relay-enabled=true")
+@DirtiesContext
+public class OutboxRelayTest {
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        Subscriber subscriber() {
+            return new Subscriber();
+        }
+    }
+
+    static class Subscriber {
+        final List<OrderPlacedEvent> received = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onOrderPlaced(OrderPlacedEvent event) {
+            received.add(event);
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private BatchOrderService batchOrderService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Subscriber subscriber;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        testProduct = productRepository.save(Product.builder().name("Test Product").stock(100).build());
+    }
+
+    @Test
+    void testPlacedOrdersAreStreamedAndResumable() {
+        long start = outboxRelay.head();
+        List<Long> orderIds = List.of(
+                orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 1)).getOrderId(),
+                orderService.placeOrder(new OrderRequest(testProduct.getId(), "Bob", 2)).getOrderId(),
+                orderService.placeOrder(new OrderRequest(testProduct.getId(), "Carol", 3)).getOrderId());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<OrderPlacedEvent> events = orderEventService.poll(start, 100, 1_000);
+        while (events.size() < 3 && System.currentTimeMillis() < deadline) {
+            events = orderEventService.poll(start, 100, 1_000);
+        }
+        assertEquals(orderIds, events.stream().map(OrderPlacedEvent::getOrderId).toList());
+        assertEquals("Bob", events.get(1).getCustomerName());
+
+        List<OrderPlacedEvent> resumed = orderEventService.poll(events.get(1).getOffset(), 100, 0);
+        assertEquals(List.of(orderIds.get(2)), resumed.stream().map(OrderPlacedEvent::getOrderId).toList());
+
+        assertTrue(subscriber.received.stream().map(OrderPlacedEvent::getOrderId).toList().containsAll(orderIds));
+        assertTrue(meterRegistry.get("orderup.outbox.relay.batch.size").summary().count() > 0);
+        assertTrue(meterRegistry.get("orderup.outbox.relay.lag").timer().count() >= 3);
+    }
+
+    @Test
+    void testBatchOrdersAndConfirmedReservationsAreStreamed() {
+        long start = outboxRelay.head();
+        Long batchOrderId = batchOrderService.placeOrders(List.of(new OrderRequest(testProduct.getId(), "Dave", 1)))
+                .getResults().get(0).getOrderId();
+        Long reservationId = reservationService.reserve(new OrderRequest(testProduct.getId(), "Erin", 2)).getReservationId();
+        Long confirmedOrderId = reservationService.confirm(reservationId).getOrderId();
+
+        List<OrderPlacedEvent> events = pollUntil(start, 2);
+        assertEquals(List.of(batchOrderId, confirmedOrderId), events.stream().map(OrderPlacedEvent::getOrderId).toList());
+        assertEquals(List.of("Dave", "Erin"), events.stream().map(OrderPlacedEvent::getCustomerName).toList());
+        assertEquals(2, events.get(1).getQuantity());
+    }
+
+    @Test
+    void testSlowCommitGetsALaterOffsetInsteadOfBeingSkipped() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            long id = outboxEventRepository.save(event("Slow")).getId();
+            inserted.countDown();
+            await(release);
+            return id;
+        }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        long start = outboxRelay.head();
+        long fast = outboxEventRepository.save(event("Fast")).getId();
+
+        // The slow transaction holds the lower ID but has not committed yet
+        List<OrderPlacedEvent> first = pollUntil(start, 1);
+        assertEquals(List.of("Fast"), first.stream().map(OrderPlacedEvent::getCustomerName).toList());
+
+        Thread.sleep(300); // longer than any relay poll: a late commit must still be delivered
+        release.countDown();
+        assertTrue(slow.get(5, TimeUnit.SECONDS) < fast);
+
+        List<OrderPlacedEvent> late = pollUntil(first.get(0).getOffset(), 1);
+        assertEquals(List.of("Slow"), late.stream().map(OrderPlacedEvent::getCustomerName).toList());
+        assertEquals(first.get(0).getOffset() + 1, late.get(0).getOffset());
+    }
+
+    @Test
+    void testRolledBackEventLeavesNoGap() {
+        long start = outboxRelay.head();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.save(event("RolledBack"));
+            status.setRollbackOnly();
+        });
+        outboxEventRepository.save(event("Committed"));
+
+        List<OrderPlacedEvent> events = pollUntil(start, 1);
+        assertEquals(List.of("Committed"), events.stream().map(OrderPlacedEvent::getCustomerName).toList());
+        assertEquals(start + 1, events.get(0).getOffset());
+    }
+
+    private List<OrderPlacedEvent> pollUntil(long after, int count) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<OrderPlacedEvent> events = orderEventService.poll(after, 100, 1_000);
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            events = orderEventService.poll(after, 100, 1_000);
+        }
+        return events;
+    }
+
+    private OutboxEvent event(String customerName) {
+        return OutboxEvent.builder()
+                .type(OutboxEvent.ORDER_PLACED)
+                .orderId(0L)
+                .productId(testProduct.getId())
+                .productName(testProduct.getName())
+                .customerName(customerName)
+                .quantity(1)
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.ProductRequest;
+import com.example.orderup.dto.ProductResponse;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ProductCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ConnectionPermits connectionPermits;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        testProduct = new Product();
+        testProduct.setName("Test Product");
+        testProduct.setStock(10);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    void testRepeatedReadIsServedFromCache() {
+        productService.getProductById(testProduct.getId());
+
+        // A write that bypasses the service is not seen until the entry is evicted
+        testProduct.setName("Renamed Directly");
+        productRepository.save(testProduct);
+
+        assertEquals("Test Product", productService.getProductById(testProduct.getId()).getName());
+        assertNotNull(cacheManager.getCache(ProductCacheInvalidator.PRODUCTS).get(testProduct.getId()));
+    }
+
+    @Test
+    void testCacheMissQueriesUnderADatabasePermitAndHitsDoNot() {
+        long before = connectionPermits.transactionsBegun();
+        assertEquals(10, productService.getProductStock(testProduct.getId()));
+        assertEquals(before + 1, connectionPermits.transactionsBegun());
+
+        assertEquals(10, productService.getProductStock(testProduct.getId()));
+        assertEquals(before + 1, connectionPermits.transactionsBegun());
+    }
+
+    @Test
+    void testPlaceOrderEvictsCachedStock() {
+        assertEquals(10, productService.getProductStock(testProduct.getId()));
+
+        orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 3));
+
+        assertEquals(7, productService.getProductStock(testProduct.getId()));
+    }
+
+    @Test
+    void testFailedOrderKeepsCachedStock() {
+        assertEquals(10, productService.getProductStock(testProduct.getId()));
+
+        assertThrows(RuntimeException.class,
+                () -> orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 11)));
+
+        assertNotNull(cacheManager.getCache(ProductCacheInvalidator.PRODUCT_STOCK).get(testProduct.getId()));
+    }
+
+    @Test
+    void testUpdateAndCreateEvictCachedReads() {
+        productService.getProductById(testProduct.getId());
+        assertEquals(1, productService.getAllProducts().size());
+
+        productService.updateProduct(testProduct.getId(), new ProductRequest("Updated Product", 20));
+        productService.createProduct(new ProductRequest("Another Product", 5));
+
+        assertEquals("Updated Product", productService.getProductById(testProduct.getId()).getName());
+        assertEquals(2, productService.getAllProducts().size());
+    }
+
+    @Test
+    void testOrderCommittedDuringAListLoadEvictsTheLoadedList() throws Exception {
+        Cache list = cacheManager.getCache(ProductCacheInvalidator.PRODUCT_LIST);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // A list load that read the stock before the order and finishes after its commit
+        CompletableFuture<Object> load = CompletableFuture.supplyAsync(() -> list.get(ProductCacheInvalidator.ALL, () -> {
+            List<ProductResponse> stale = productService.getProducts(null, 10).getItems();
+            loading.countDown();
+            release.await();
+            return stale;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> order = CompletableFuture.runAsync(() ->
+                orderService.placeOrder(new OrderRequest(testProduct.getId(), "Alice", 3)));
+        try {
+            order.get(500, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException expected) {
+            // The eviction after commit is waiting for the load
+        }
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        order.get(5, TimeUnit.SECONDS);
+
+        assertNull(list.get(ProductCacheInvalidator.ALL));
+        assertEquals(7, productService.getAllProducts().get(0).getStock());
+    }
+}
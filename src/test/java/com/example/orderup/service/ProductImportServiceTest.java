@@ -0,0 +1,124 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.ProductImportError;
+import com.example.orderup.dto.ProductImportResponse;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orderup.import.batch-size=3",
+        "orderup.import.max-errors=2"
+})
+public class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void testCsvImportAcrossBatchesWithRowErrors() {
+        String csv = """
+                stock,Name,stockBuckets
+                5,Widget,
+                7,"Gadget, large",4
+
+                -1,Broken,
+                3,"He said \"\"hi\"\"",
+                x,Bad Stock,
+                9,Thing,
+                """;
+
+        ProductImportResponse response = productImportService.importProducts(body(csv), ProductImportService.Format.CSV);
+
+        assertEquals(6, response.getRowsRead());
+        assertEquals(4, response.getImported());
+        assertEquals(2, response.getRejected());
+        assertFalse(response.isErrorsTruncated());
+        assertEquals(List.of(5L, 7L), response.getErrors().stream().map(ProductImportError::getLine).toList());
+        assertEquals("Stock cannot be negative", response.getErrors().get(0).getMessage());
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("stock must be a whole number"));
+
+        List<Product> products = productRepository.findAll().stream()
+                .sorted(Comparator.comparing(Product::getName))
+                .toList();
+        assertEquals(List.of("Gadget, large", "He said \"hi\"", "Thing", "Widget"),
+                products.stream().map(Product::getName).toList());
+        assertEquals(4, products.get(0).getStockBuckets());
+        assertNull(products.get(3).getStockBuckets());
+    }
+
+    @Test
+    void testNdjsonImportRejectsMalformedAndInvalidLines() {
+        String ndjson = """
+                {"name":"A","stock":1}
+                {"name":"B","stock":2,"stockBuckets":8}
+                {"name":
+                {"name":"","stock":3}
+                {"name":"C","stock":4,"stockBuckets":65}
+                """;
+
+        ProductImportResponse response = productImportService.importProducts(body(ndjson), ProductImportService.Format.NDJSON);
+
+        assertEquals(5, response.getRowsRead());
+        assertEquals(2, response.getImported());
+        assertEquals(3, response.getRejected());
+        assertTrue(response.isErrorsTruncated());
+        assertEquals(2, response.getErrors().size());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals("Product name is required", response.getErrors().get(1).getMessage());
+        assertEquals(2, productRepository.count());
+    }
+
+    @Test
+    void testRowRefusedByDatabaseDoesNotRejectItsBatch() {
+        String ndjson = """
+                {"name":"A","stock":1}
+                {"name":"%s","stock":2}
+                {"name":"C","stock":3}
+                """.formatted("n".repeat(300));
+
+        ProductImportResponse response = productImportService.importProducts(body(ndjson), ProductImportService.Format.NDJSON);
+
+        assertEquals(2, response.getImported());
+        assertEquals(1, response.getRejected());
+        assertEquals(2L, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Insert failed"));
+        assertEquals(2, productRepository.count());
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumnsIsRefused() {
+        assertThrows(InvalidRequestException.class, () ->
+                productImportService.importProducts(body("name,quantity\nWidget,5\n"), ProductImportService.Format.CSV));
+        assertEquals(0, productRepository.count());
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.orderup.service;
 
+import com.example.orderup.dto.CursorPage;
 import com.example.orderup.dto.ProductRequest;
 import com.example.orderup.dto.ProductResponse;
 import com.example.orderup.entity.Product;
 import com.example.orderup.exception.ProductNotFoundException;
 import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ProductView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,7 +27,12 @@ public class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ProductServiceImpl productService;
 
     private Product product;
@@ -27,6 +40,9 @@ public class ProductServiceImplTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        productService = new ProductServiceImpl(productRepository, eventPublisher,
+                new ProductCacheInvalidator(new ConcurrentMapCacheManager(), false, 0), transactionManager,
+                new SimpleMeterRegistry(), 0, 2_000);
 
         product = Product.builder()
                 .id(1L)
@@ -54,7 +70,7 @@ public class ProductServiceImplTest {
 
     @Test
     void testGetProductById_Success() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findViewById(1L)).thenReturn(Optional.of(new ProductView(1L, "Test Product", 10)));
 
         ProductResponse response = productService.getProductById(1L);
 
@@ -67,7 +83,7 @@ public class ProductServiceImplTest {
 
     @Test
     void testGetProductById_NotFound() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findViewById(99L)).thenReturn(Optional.empty());
 
         ProductNotFoundException ex = assertThrows(ProductNotFoundException.class,
                 () -> productService.getProductById(99L));
@@ -76,8 +92,7 @@ public class ProductServiceImplTest {
 
     @Test
     void testGetAllProducts() {
-        List<Product> products = List.of(product);
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllViews()).thenReturn(List.of(new ProductView(1L, "Test Product", 10)));
 
         List<ProductResponse> responses = productService.getAllProducts();
 
@@ -110,6 +125,17 @@ public class ProductServiceImplTest {
         assertEquals(15, product.getStock());
     }
 
+    @Test
+    void testUpdateProductSetsStockBuckets() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        productService.updateProduct(1L, new ProductRequest("Test Product", 40, 8));
+
+        assertEquals(8, product.getStockBuckets());
+        assertEquals(40, product.getStock());
+    }
+
     @Test
     void testUpdateProduct_NotFound() {
         when(productRepository.findById(1L)).thenReturn(Optional.empty());
@@ -143,7 +169,7 @@ public class ProductServiceImplTest {
 
     @Test
     void testGetProductStock_Success() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findViewById(1L)).thenReturn(Optional.of(new ProductView(1L, "Test Product", 10)));
 
         int stock = productService.getProductStock(1L);
         assertEquals(10, stock);
@@ -151,10 +177,33 @@ public class ProductServiceImplTest {
 
     @Test
     void testGetProductStock_NotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findViewById(1L)).thenReturn(Optional.empty());
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> productService.getProductStock(1L));
         assertEquals("Product not found with ID: 1", ex.getMessage());
     }
+
+    @Test
+    void testGetProducts_Page() {
+        when(productRepository.findPageAfter(0L, Limit.of(1))).thenReturn(List.of(new ProductView(1L, "Test Product", 10)));
+
+        CursorPage<ProductResponse> page = productService.getProducts(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Product retrieved successfully", page.getItems().get(0).getMessage());
+        assertEquals(1L, Cursors.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testStreamAllProducts() {
+        when(productRepository.streamAll()).thenReturn(Stream.of(
+                new ProductView(1L, "A", 1), new ProductView(2L, "B", 2)));
+
+        List<ProductResponse> streamed = new ArrayList<>();
+        productService.streamAllProducts(streamed::add);
+
+        assertEquals(2, streamed.size());
+        assertEquals("B", streamed.get(1).getName());
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Two in-memory H2 databases stand in for the primary and its replica. */
+@SpringBootTest(properties = {
+        "orderup.datasource.replica.enabled=true",
+        "orderup.datasource.replica.jdbc-url=jdbc:h2:mem:replica-${random.uuid};DB_CLOSE_DELAY=-1",
+        "orderup.datasource.replica.username=sa",
+        "orderup.datasource.replica.maximum-pool-size=5",
+        "orderup.db.read-max-concurrency=5",
+        "orderup.datasource.replica.max-lag-ms=1000",
+        "orderup.outbox.poll-interval-ms=3600000"
+})
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        // Replication is out of scope: copy the primary's schema and give the replica its own copy of the row
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+
+        product = productRepository.save(Product.builder().name("Primary Copy").stock(10).build());
+        replica.update("INSERT INTO product (id, name, stock, version) VALUES (?, 'Replica Copy', 99, 0)", product.getId());
+    }
+
+    @Test
+    void testReadOnlyServiceCallsReadTheReplica() {
+        assertEquals("Replica Copy", productService.getProductById(product.getId()).getName());
+        assertEquals(99, productService.getProductStock(product.getId()));
+        assertEquals("Replica Copy", productService.getProducts(null, 10).getItems().get(0).getName());
+    }
+
+    @Test
+    void testWritesGoToThePrimary() {
+        orderService.placeOrder(new OrderRequest(product.getId(), "Writer", 3));
+
+        assertEquals(7, new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT stock FROM product WHERE id = ?", Integer.class, product.getId()));
+        assertEquals(99, replica.queryForObject("SELECT stock FROM product WHERE id = ?", Integer.class, product.getId()));
+    }
+
+    @Test
+    void testCacheRefillAfterAnOrderSkipsTheLaggingReplica() throws InterruptedException {
+        assertEquals(99, productService.getProductStock(product.getId()));
+
+        // The replica never sees the order, like one lagging behind the primary
+        orderService.placeOrder(new OrderRequest(product.getId(), "Writer", 3));
+
+        assertEquals(7, productService.getProductStock(product.getId()));
+        assertEquals(7, productService.getProductById(product.getId()).getStock());
+        assertEquals(7, productService.getAllProducts().get(0).getStock());
+
+        // Past the lag window the replica is trusted again
+        Thread.sleep(1100);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        assertEquals(99, productService.getProductStock(product.getId()));
+        assertEquals(99, productService.getAllProducts().get(0).getStock());
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReadOnlySession() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            Product loaded = productRepository.findById(product.getId()).orElseThrow();
+            Session session = entityManager.unwrap(Session.class);
+            assertEquals("Replica Copy", loaded.getName());
+            assertTrue(session.isDefaultReadOnly());
+            assertTrue(session.isReadOnly(loaded), "no snapshot is kept for dirty checking");
+        });
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.OrderResponse;
+import com.example.orderup.dto.ReservationResponse;
+import com.example.orderup.entity.Product;
+import com.example.orderup.entity.Reservation;
+import com.example.orderup.entity.ReservationStatus;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ReservationStateException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.OutboxEventRepository;
+import com.example.orderup.repository.ProductRepository;
+import com.example.orderup.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "orderup.reservation.ttl-ms=300",
+        "orderup.reservation.tick-ms=20"})
+public class ReservationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private StockStrategy stockStrategy;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testProduct = productRepository.save(Product.builder().name("Test Product").stock(10).build());
+    }
+
+    @Test
+    void testReserveHoldsStockAndConfirmPlacesOrder() {
+        ReservationResponse held = reservationService.reserve(new OrderRequest(testProduct.getId(), "Alice", 4));
+
+        assertEquals(ReservationStatus.HELD, held.getStatus());
+        assertEquals(6, orderService.getProductStock(testProduct.getId()));
+
+        OrderResponse order = reservationService.confirm(held.getReservationId());
+
+        assertEquals("Test Product", order.getProductName());
+        assertEquals(4, order.getQuantity());
+        assertEquals(1, orderRepository.count());
+        assertEquals(6, orderService.getProductStock(testProduct.getId()));
+        assertEquals(ReservationStatus.CONFIRMED, status(held.getReservationId()));
+        assertThrows(ReservationStateException.class, () -> reservationService.release(held.getReservationId()));
+    }
+
+    @Test
+    void testReleaseReturnsStockOnce() {
+        ReservationResponse held = reservationService.reserve(new OrderRequest(testProduct.getId(), "Alice", 10));
+        assertTrue(soldOutRegistry.isSoldOut(testProduct.getId()));
+        assertThrows(InsufficientStockException.class,
+                () -> reservationService.reserve(new OrderRequest(testProduct.getId(), "Bob", 1)));
+
+        reservationService.release(held.getReservationId());
+        ReservationResponse again = reservationService.release(held.getReservationId());
+
+        assertEquals(ReservationStatus.RELEASED, again.getStatus());
+        assertEquals(10, orderService.getProductStock(testProduct.getId()));
+        assertFalse(soldOutRegistry.isSoldOut(testProduct.getId()));
+        assertThrows(ReservationStateException.class, () -> reservationService.confirm(held.getReservationId()));
+    }
+
+    @Test
+    void testLapsedHoldIsReleasedByTheWheel() throws InterruptedException {
+        ReservationResponse held = reservationService.reserve(new OrderRequest(testProduct.getId(), "Alice", 3));
+
+        awaitStatus(held.getReservationId(), ReservationStatus.EXPIRED);
+
+        assertEquals(10, orderService.getProductStock(testProduct.getId()));
+        assertThrows(ReservationStateException.class, () -> reservationService.confirm(held.getReservationId()));
+        assertEquals(0, orderRepository.count());
+    }
+
+    @Test
+    void testHoldsAreRebuiltFromTheTableOnStartup() throws InterruptedException {
+        // A hold left behind by a previous run: its stock is already out of the product
+        productRepository.adjustStock(testProduct.getId(), -2);
+        Reservation orphan = reservationRepository.save(Reservation.builder()
+                .product(testProduct)
+                .customerName("Alice")
+                .quantity(2)
+                .status(ReservationStatus.HELD)
+                .expiresAt(System.currentTimeMillis() - 1)
+                .build());
+
+        ReservationServiceImpl restarted = new ReservationServiceImpl(reservationRepository, orderRepository,
+                stockStrategy, eventPublisher, soldOutRegistry, outboxEventRepository, transactionTemplate, 300, 20, 64, 500);
+        restarted.rebuildExpiries();
+        assertEquals(1, restarted.pendingExpiries());
+        Thread.sleep(50); // expiries are rounded up to the next tick
+        restarted.expireLapsedHolds();
+
+        assertEquals(ReservationStatus.EXPIRED, status(orphan.getId()));
+        assertEquals(10, orderService.getProductStock(testProduct.getId()));
+    }
+
+    private ReservationStatus status(Long reservationId) {
+        return reservationRepository.findById(reservationId).orElseThrow().getStatus();
+    }
+
+    private void awaitStatus(Long reservationId, ReservationStatus expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (status(reservationId) != expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "reservation never became " + expected);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.orderup.service;
+
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final Counter coalesced = new SimpleMeterRegistry().counter("coalesced");
+
+    @Test
+    void testConcurrentLoadsOfOneKeyShareOneQuery() throws Exception {
+        SingleFlight<Long, String> flights = new SingleFlight<>(0, 5_000, coalesced);
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flights.load(1L, () -> {
+            queries.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "product-1";
+        })));
+        started.await();
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> flights.load(1L, () -> "query-" + queries.incrementAndGet())));
+        }
+        while (coalesced.count() < 7) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("product-1", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, queries.get());
+        assertEquals(0, flights.size(), "without a freshness window nothing is kept");
+        assertEquals("query-2", flights.load(1L, () -> "query-" + queries.incrementAndGet()));
+    }
+
+    @Test
+    void testFailureIsSharedButNotKept() throws Exception {
+        SingleFlight<Long, String> flights = new SingleFlight<>(60_000, 5_000, coalesced);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<String> leader = executor.submit(() -> flights.load(9L, () -> {
+            started.countDown();
+            await(release);
+            throw new ProductNotFoundException("Product not found with ID: 9");
+        }));
+        started.await();
+        Future<String> follower = executor.submit(() -> flights.load(9L, () -> "loaded"));
+        while (coalesced.count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, follower)) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ProductNotFoundException.class, e.getCause());
+        }
+        executor.shutdown();
+        assertEquals("loaded", flights.load(9L, () -> "loaded"));
+    }
+
+    @Test
+    void testFreshnessWindowServesTheLastResultUntilForgotten() {
+        SingleFlight<Long, Integer> flights = new SingleFlight<>(60_000, 5_000, coalesced);
+        AtomicInteger queries = new AtomicInteger();
+
+        assertEquals(1, flights.load(1L, queries::incrementAndGet));
+        assertEquals(1, flights.load(1L, queries::incrementAndGet));
+        assertEquals(1, coalesced.count());
+        assertEquals(2, flights.load(2L, queries::incrementAndGet), "keys do not share results");
+
+        flights.forget(1L);
+        assertEquals(3, flights.load(1L, queries::incrementAndGet));
+    }
+
+    @Test
+    void testWaiterGivesUpOnAStuckLoad() throws Exception {
+        SingleFlight<Long, String> flights = new SingleFlight<>(0, 50, coalesced);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<String> leader = executor.submit(() -> flights.load(3L, () -> {
+            started.countDown();
+            await(release);
+            return "loaded";
+        }));
+        started.await();
+        assertThrows(ServiceBusyException.class, () -> flights.load(3L, () -> "own query"));
+
+        release.countDown();
+        assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.orderup.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoldOutRegistryTest {
+
+    private SoldOutRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SoldOutRegistry();
+    }
+
+    @Test
+    void testRejectionIsBuiltOnceAndReused() {
+        registry.markSoldOut(1L, "Apples", registry.epoch(1L));
+
+        assertTrue(registry.isSoldOut(1L));
+        assertSame(registry.rejection(1L), registry.rejection(1L));
+        assertEquals(0, registry.rejection(1L).getStackTrace().length);
+        assertNull(registry.rejection(2L));
+    }
+
+    @Test
+    void testClearRemovesMark() {
+        registry.markSoldOut(1L, "Apples", registry.epoch(1L));
+
+        registry.clear(1L);
+
+        assertFalse(registry.isSoldOut(1L));
+    }
+
+    @Test
+    void testMarkFromBeforeRestockIsIgnored() {
+        long epoch = registry.epoch(1L);
+
+        registry.clear(1L);
+        registry.markSoldOut(1L, "Apples", epoch);
+
+        assertFalse(registry.isSoldOut(1L));
+    }
+}
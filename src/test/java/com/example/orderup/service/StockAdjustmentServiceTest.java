@@ -0,0 +1,129 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.dto.StockAdjustmentRequest;
+import com.example.orderup.dto.StockAdjustmentResponse;
+import com.example.orderup.dto.StockLevel;
+import com.example.orderup.entity.Product;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.InvalidRequestException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class StockAdjustmentServiceTest {
+
+    @Autowired
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Product widget;
+    private Product gadget;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        widget = productRepository.save(Product.builder().name("Widget").stock(10).build());
+        gadget = productRepository.save(Product.builder().name("Gadget").stock(5).build());
+    }
+
+    @Test
+    void testDeltasAreSummedAndNewLevelsReturned() {
+        StockAdjustmentResponse response = stockAdjustmentService.adjustStock(List.of(
+                new StockAdjustmentRequest(gadget.getId(), -2),
+                new StockAdjustmentRequest(widget.getId(), 30),
+                new StockAdjustmentRequest(widget.getId(), 5)));
+
+        assertEquals(2, response.getAdjusted());
+        StockLevel first = response.getLevels().get(0);
+        StockLevel second = response.getLevels().get(1);
+        assertEquals(widget.getId(), first.getProductId());
+        assertEquals(35, first.getDelta());
+        assertEquals(45, first.getStock());
+        assertEquals(gadget.getId(), second.getProductId());
+        assertEquals(3, second.getStock());
+        assertEquals(45, productRepository.findById(widget.getId()).get().getStock());
+        assertEquals(3, productRepository.findById(gadget.getId()).get().getStock());
+    }
+
+    @Test
+    void testAnyRefusedDeltaRollsBackTheWholeAdjustment() {
+        assertThrows(InsufficientStockException.class, () -> stockAdjustmentService.adjustStock(List.of(
+                new StockAdjustmentRequest(widget.getId(), 10),
+                new StockAdjustmentRequest(gadget.getId(), -6))));
+        assertThrows(ProductNotFoundException.class, () -> stockAdjustmentService.adjustStock(List.of(
+                new StockAdjustmentRequest(widget.getId(), 10),
+                new StockAdjustmentRequest(gadget.getId() + 1000, 1))));
+        assertThrows(InvalidRequestException.class, () -> stockAdjustmentService.adjustStock(List.of()));
+
+        assertEquals(10, productRepository.findById(widget.getId()).get().getStock());
+        assertEquals(5, productRepository.findById(gadget.getId()).get().getStock());
+    }
+
+    @Test
+    void testRestockClearsSoldOutAndEvictsCachedStock() {
+        stockAdjustmentService.adjustStock(List.of(new StockAdjustmentRequest(gadget.getId(), -5)));
+        assertTrue(soldOutRegistry.isSoldOut(gadget.getId()));
+        assertEquals(0, productService.getProductStock(gadget.getId()));
+
+        stockAdjustmentService.adjustStock(List.of(new StockAdjustmentRequest(gadget.getId(), 4)));
+
+        assertFalse(soldOutRegistry.isSoldOut(gadget.getId()));
+        assertEquals(4, productService.getProductStock(gadget.getId()));
+    }
+
+    @Test
+    void testConcurrentOrdersAreNotOverwrittenByRestock() throws InterruptedException {
+        int numberOfThreads = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        for (int i = 0; i < numberOfThreads; i++) {
+            int n = i;
+            executor.submit(() -> {
+                try {
+                    if (n % 2 == 0) {
+                        stockAdjustmentService.adjustStock(List.of(
+                                new StockAdjustmentRequest(widget.getId(), 1),
+                                new StockAdjustmentRequest(gadget.getId(), 1)));
+                    } else {
+                        orderService.placeOrder(new OrderRequest(widget.getId(), "Customer " + n, 1));
+                    }
+                } catch (Exception ignored) {
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(10, orderRepository.count());
+        assertEquals(10, productRepository.findById(widget.getId()).get().getStock());
+        assertEquals(15, productRepository.findById(gadget.getId()).get().getStock());
+    }
+}
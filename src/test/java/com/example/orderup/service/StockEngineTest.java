@@ -0,0 +1,105 @@
+package com.example.orderup.service;
+
+import com.example.orderup.entity.Product;
+import com.example.orderup.event.ProductChangedEvent;
+import com.example.orderup.event.StockChangedEvent;
+import com.example.orderup.exception.InsufficientStockException;
+import com.example.orderup.exception.ProductNotFoundException;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StockEngine stockEngine;
+
+    @BeforeEach
+    void setUp() {
+        stockEngine = new StockEngine(productRepository, eventPublisher);
+    }
+
+    private Product product(int stock) {
+        return Product.builder().id(1L).name("Hot Product").stock(stock).build();
+    }
+
+    @Test
+    void testReserveDecrementsCounterAndLoadsOnce() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(5)));
+        when(productRepository.getReferenceById(1L)).thenReturn(product(5));
+
+        StockAllocation allocation = stockEngine.reserve(1L, 2);
+        stockEngine.reserve(1L, 3);
+
+        assertEquals("Hot Product", allocation.getProductName());
+        assertEquals(0, stockEngine.available(1L));
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testReserveRejectsOversell() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1)));
+
+        assertThrows(InsufficientStockException.class, () -> stockEngine.reserve(1L, 2));
+        assertEquals(1, stockEngine.available(1L));
+    }
+
+    @Test
+    void testReserveUnknownProduct() {
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> stockEngine.reserve(9L, 1));
+    }
+
+    @Test
+    void testFlushWritesAccumulatedDeltaOnce() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(10)));
+
+        stockEngine.reserve(1L, 2);
+        stockEngine.reserve(1L, 3);
+        stockEngine.flush();
+        stockEngine.flush();
+
+        verify(productRepository, times(1)).adjustStock(1L, -5);
+        verify(eventPublisher, times(1)).publishEvent(any(StockChangedEvent.class));
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(10)));
+        when(productRepository.adjustStock(1L, -4))
+                .thenThrow(new RuntimeException("DB down"))
+                .thenReturn(1);
+
+        stockEngine.reserve(1L, 4);
+        stockEngine.flush();
+        stockEngine.flush();
+
+        verify(productRepository, times(2)).adjustStock(1L, -4);
+    }
+
+    @Test
+    void testProductChangeReloadsCounter() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1)), Optional.of(product(50)));
+
+        assertEquals(1, stockEngine.available(1L));
+        stockEngine.onProductChanged(new ProductChangedEvent(1L));
+
+        assertEquals(50, stockEngine.available(1L));
+    }
+}
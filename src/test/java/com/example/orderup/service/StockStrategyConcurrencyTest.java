@@ -0,0 +1,85 @@
+package com.example.orderup.service;
+
+import com.example.orderup.dto.OrderRequest;
+import com.example.orderup.entity.Product;
+import com.example.orderup.repository.OrderRepository;
+import com.example.orderup.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent orders against one product, shared by every stock strategy.
+ * Subclasses pick the strategy in {@code @SpringBootTest} and add their own cases.
+ */
+abstract class StockStrategyConcurrencyTest {
+
+    @Autowired
+    protected OrderService orderService;
+
+    @Autowired
+    protected ProductRepository productRepository;
+
+    @Autowired
+    protected OrderRepository orderRepository;
+
+    protected Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testProduct = new Product();
+        testProduct.setName("Test Product");
+        testProduct.setStock(10);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    void testConcurrentOrderPlacement() throws InterruptedException, ExecutionException {
+        int numberOfThreads = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (int i = 0; i < numberOfThreads; i++) {
+            futures.add(executor.submit(() -> {
+                OrderRequest request = new OrderRequest(testProduct.getId(), Thread.currentThread().getName(), 1);
+                try {
+                    orderService.placeOrder(request);
+                    return true;
+                } catch (Exception e) {
+                    return false;
+                }
+            }));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        int successCount = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) successCount++;
+        }
+
+        assertEquals(10, successCount, "Exactly 10 orders should succeed");
+        assertEquals(10, orderRepository.count());
+        assertEquals(0, storedStock(), "Stock should be 0 after successful orders");
+        verifyAfterConcurrentOrders();
+    }
+
+    /** Stock on the product row once the orders are done; strategies that write back later flush first. */
+    protected int storedStock() {
+        return productRepository.findById(testProduct.getId()).get().getStock();
+    }
+
+    /** Strategy-specific checks after {@link #testConcurrentOrderPlacement}. */
+    protected void verifyAfterConcurrentOrders() {
+    }
+}
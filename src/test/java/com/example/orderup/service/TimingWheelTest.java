@@ -0,0 +1,53 @@
+package com.example.orderup.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    void testItemsFireAfterExpiryAndWithinTwoTicks() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] expiries = new long[2_000];
+        for (int i = 0; i < expiries.length; i++) {
+            // Spread over several levels: level 0 covers 80ms, level 1 640ms, level 2 5120ms
+            expiries[i] = random.nextLong(20_000);
+            wheel.add((long) i, expiries[i]);
+        }
+
+        int fired = 0;
+        for (long now = 0; now <= 20_100; now += 7) {
+            for (long id : wheel.advance(now)) {
+                long expiry = expiries[(int) id];
+                assertTrue(expiry <= now, "fired early: expiry " + expiry + " at " + now);
+                assertTrue(now - expiry <= 2 * 10 + 7, "fired late: expiry " + expiry + " at " + now);
+                fired++;
+            }
+        }
+
+        assertEquals(expiries.length, fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testLongIdleGapReleasesEverythingInOneAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 16, 1_000);
+        wheel.add("soon", 1_150);
+        wheel.add("later", 60_000);
+        wheel.add("past", 500);
+
+        assertEquals(List.of("past"), wheel.advance(1_000));
+        assertEquals(2, wheel.size());
+
+        List<String> expired = new ArrayList<>(wheel.advance(3_600_000));
+        expired.sort(null);
+        assertEquals(List.of("later", "soon"), expired);
+        assertTrue(wheel.advance(3_700_000).isEmpty());
+    }
+}